@@ -0,0 +1,57 @@
+package com.example.svmps.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.svmps.dto.PurchaseOrderDto;
+import com.example.svmps.service.PurchaseOrderService;
+
+/**
+ * One invoice PDF per operation. Invoices are rendered per PO, so the size
+ * parameter is the number of distinct POs cycled through, not rows per PDF.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx384m" })
+public class InvoicePdfBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    private int orders;
+
+    private PurchaseOrderService purchaseOrderService;
+    private PurchaseOrderDto[] pos;
+    private int next;
+
+    @Setup
+    public void setup() {
+        // generateInvoicePdf only reads the DTO and bypasses the invoice cache;
+        // the repositories are never touched
+        purchaseOrderService = new PurchaseOrderService(null, null, null, null, null, null, null);
+
+        pos = new PurchaseOrderDto[orders];
+        for (int i = 0; i < orders; i++) {
+            pos[i] = ReportFixtures.purchaseOrder(i + 1);
+        }
+    }
+
+    @Benchmark
+    public byte[] invoicePdf() {
+        PurchaseOrderDto po = pos[next];
+        next = (next + 1) % pos.length;
+        return purchaseOrderService.generateInvoicePdf(po);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.svmps.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.svmps.service.LineItemJsonCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Decoding the three PR line-item JSON columns of one row per operation:
+ * the untyped {@code readValue(json, List.class)} that PR reads used to do,
+ * against the typed codec with and without its parse cache.
+ *
+ * The cached variant cycles through {@code prs} rows, all of which fit in
+ * the cache, so it measures the hit path only (a lookup plus comparing
+ * the three strings with the cached ones).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx384m" })
+public class LineItemJsonBenchmark {
+
+    @Param({ "3", "20", "100" })
+    private int lines;
+
+    @Param({ "1000" })
+    private int prs;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private LineItemJsonCodec codec;
+
+    private String itemsJson;
+    private String quantityJson;
+    private String itemAmountJson;
+    private long next;
+
+    @Setup
+    public void setup() {
+        codec = new LineItemJsonCodec();
+        ReflectionTestUtils.setField(codec, "cacheSize", prs);
+        codec.init();
+
+        StringBuilder items = new StringBuilder("[");
+        StringBuilder quantities = new StringBuilder("[");
+        StringBuilder amounts = new StringBuilder("[");
+        for (int i = 0; i < lines; i++) {
+            String sep = i == 0 ? "" : ",";
+            items.append(sep).append("\"Item ").append(i + 1).append('"');
+            quantities.append(sep).append(1 + i % 40);
+            amounts.append(sep).append(new BigDecimal(1000 + i * 37).movePointLeft(2));
+        }
+        itemsJson = items.append(']').toString();
+        quantityJson = quantities.append(']').toString();
+        itemAmountJson = amounts.append(']').toString();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object untyped() throws Exception {
+        List<String> items = mapper.readValue(itemsJson, List.class);
+        List<Integer> quantities = mapper.readValue(quantityJson, List.class);
+        List<BigDecimal> amounts = mapper.readValue(itemAmountJson, List.class);
+        return new Object[] { items, quantities, amounts };
+    }
+
+    @Benchmark
+    public LineItemJsonCodec.Decoded typed() {
+        return codec.decode(itemsJson, quantityJson, itemAmountJson);
+    }
+
+    @Benchmark
+    public LineItemJsonCodec.Decoded cached() {
+        long prId = next++ % prs;
+        return codec.decode(prId, itemsJson, quantityJson, itemAmountJson);
+    }
+
+    @Benchmark
+    public int totalQuantity() {
+        return codec.totalQuantity(quantityJson);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.svmps.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.svmps.dto.PoReportRow;
+import com.example.svmps.dto.PrReportRow;
+import com.example.svmps.dto.PurchaseOrderDto;
+import com.example.svmps.dto.VendorReportRow;
+
+/**
+ * Synthetic, deterministic report data, so runs on different commits render
+ * exactly the same input.
+ */
+final class ReportFixtures {
+
+    private static final String[] STATUSES = { "PENDING", "APPROVED", "REJECTED" };
+    private static final String[] PO_STATUSES = { "CREATED", "PARTIALLY_DELIVERED", "DELIVERED", "CLOSED" };
+    private static final String[] LOCATIONS = { "Mumbai", "Pune", "Bengaluru", "Chennai", "Delhi" };
+
+    private ReportFixtures() {
+    }
+
+    static List<?> rows(String reportName, int count) {
+        return switch (reportName) {
+            case "pr" -> prRows(count);
+            case "po" -> poRows(count);
+            case "vendor" -> vendorRows(count);
+            default -> throw new IllegalArgumentException("Unknown report: " + reportName);
+        };
+    }
+
+    static List<PrReportRow> prRows(int count) {
+        List<PrReportRow> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new PrReportRow((long) i, "PR-" + (1_000_000 + i),
+                    STATUSES[i % STATUSES.length], amount(i)));
+        }
+        return rows;
+    }
+
+    static List<PoReportRow> poRows(int count) {
+        List<PoReportRow> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int total = 10 + i % 90;
+            rows.add(new PoReportRow((long) i, "PO-" + (1_000_000 + i),
+                    PO_STATUSES[i % PO_STATUSES.length], amount(i), total, i % (total + 1)));
+        }
+        return rows;
+    }
+
+    static List<VendorReportRow> vendorRows(int count) {
+        List<VendorReportRow> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new VendorReportRow((long) i, "Vendor " + i, "vendor" + i + "@example.com",
+                    String.format("98%08d", i), 1.0 + (i % 40) / 10.0, LOCATIONS[i % LOCATIONS.length]));
+        }
+        return rows;
+    }
+
+    static PurchaseOrderDto purchaseOrder(int i) {
+        int total = 10 + i % 90;
+        int delivered = i % (total + 1);
+        BigDecimal base = amount(i);
+        BigDecimal gst = base.multiply(BigDecimal.valueOf(9)).movePointLeft(2);
+
+        PurchaseOrderDto po = new PurchaseOrderDto();
+        po.setId((long) i);
+        po.setPrId((long) i);
+        po.setPoNumber("PO-" + (1_000_000 + i));
+        po.setStatus(delivered == total ? "DELIVERED" : "PARTIALLY_DELIVERED");
+        po.setBaseAmount(base);
+        po.setCgstPercent(BigDecimal.valueOf(9));
+        po.setSgstPercent(BigDecimal.valueOf(9));
+        po.setIgstPercent(BigDecimal.ZERO);
+        po.setCgstAmount(gst);
+        po.setSgstAmount(gst);
+        po.setIgstAmount(BigDecimal.ZERO);
+        po.setTotalGstAmount(gst.add(gst));
+        po.setTotalAmount(base.add(gst).add(gst));
+        po.setTotalQuantity(total);
+        po.setDeliveredQuantity(delivered);
+        po.setRemainingQuantity(total - delivered);
+        po.setVendorName("Vendor " + i);
+        return po;
+    }
+
+    private static BigDecimal amount(int i) {
+        return BigDecimal.valueOf(1_000L + (i * 7919L) % 500_000L, 2);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.svmps.benchmark;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.svmps.service.ReportService;
+import com.example.svmps.service.ReportTemplateRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Jasper fill + export of the list reports, per report, format and row count.
+ *
+ * The services are wired by hand with the production defaults (precompiled
+ * templates, fill virtualizer on) and the fork gets the container heap, so a
+ * size that does not fit in production fails here too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx384m" })
+public class ReportServiceBenchmark {
+
+    @Param({ "pr", "po", "vendor" })
+    private String report;
+
+    @Param({ "100", "10000", "100000" })
+    private int rows;
+
+    private ReportService reportService;
+    private List<?> data;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ReportTemplateRegistry templates = new ReportTemplateRegistry(meterRegistry);
+        templates.init();
+
+        reportService = new ReportService(templates, meterRegistry);
+        ReflectionTestUtils.setField(reportService, "virtualizerEnabled", true);
+        ReflectionTestUtils.setField(reportService, "virtualizerMaxPages", 50);
+        ReflectionTestUtils.setField(reportService, "virtualizerDirectory",
+                Paths.get(System.getProperty("java.io.tmpdir"), "svmps-bench-swap").toString());
+
+        data = ReportFixtures.rows(report, rows);
+    }
+
+    @Benchmark
+    public byte[] pdf() {
+        return reportService.exportPdf(report, data);
+    }
+
+    @Benchmark
+    public byte[] xlsx() {
+        return reportService.exportExcel(report, data);
+    }
+}
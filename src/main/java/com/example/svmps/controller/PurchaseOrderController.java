@@ -1,33 +1,49 @@
 package com.example.svmps.controller;
 
 import java.math.BigDecimal;
+import java.security.Principal;
 import java.util.List;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import jakarta.validation.Valid;
+
+import com.example.svmps.dto.PoBatchRequest;
+import com.example.svmps.dto.PoBatchResult;
 import com.example.svmps.dto.PurchaseOrderDto;
+import com.example.svmps.service.InvoiceArchiveService;
 import com.example.svmps.service.PurchaseOrderService;
+import com.example.svmps.service.VendorService;
 
 @RestController
 @RequestMapping("/api/po")
 public class PurchaseOrderController {
 
     private final PurchaseOrderService poService;
+    private final InvoiceArchiveService invoiceArchiveService;
+    private final VendorService vendorService;
 
-    public PurchaseOrderController(PurchaseOrderService poService) {
+    public PurchaseOrderController(PurchaseOrderService poService,
+            InvoiceArchiveService invoiceArchiveService,
+            VendorService vendorService) {
         this.poService = poService;
+        this.invoiceArchiveService = invoiceArchiveService;
+        this.vendorService = vendorService;
     }
 
     // ================= CREATE PO =================
@@ -42,6 +58,13 @@ public class PurchaseOrderController {
         return poService.createPo(prId, cgstPercent, sgstPercent, igstPercent);
     }
 
+    // ================= CREATE POs (BATCH) =================
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('PROCUREMENT','ADMIN')")
+    public List<PoBatchResult> createPos(@Valid @RequestBody PoBatchRequest request) {
+        return poService.createPos(request);
+    }
+
     // ================= DELIVER PO =================
     @PostMapping("/{poId}/deliver")
     @PreAuthorize("hasRole('VENDOR')")
@@ -94,6 +117,28 @@ public class PurchaseOrderController {
         return poService.getPosByVendorId(vendorId);
     }
 
+    // ================= DOWNLOAD INVOICES (ZIP) =================
+    @GetMapping("/invoices.zip")
+    @PreAuthorize("hasRole('VENDOR')")
+    public ResponseEntity<StreamingResponseBody> downloadInvoiceZip(
+            @RequestParam Long vendorId,
+            @RequestParam(required = false) String status,
+            Principal principal) {
+
+        // A vendor may only download its own invoices
+        if (!vendorService.isOwnVendor(principal.getName(), vendorId)) {
+            throw new AccessDeniedException("Not your vendor account");
+        }
+
+        List<PurchaseOrderDto> pos = poService.getInvoicePos(vendorId, status);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=Invoices_" + vendorId + ".zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> invoiceArchiveService.writeZip(pos, out));
+    }
+
     // ================= DOWNLOAD INVOICE =================
     @GetMapping("/{poId}/invoice")
     @PreAuthorize("hasRole('VENDOR')")
@@ -101,7 +146,7 @@ public class PurchaseOrderController {
 
         PurchaseOrderDto po = poService.getPoById(poId);
 
-        byte[] pdf = poService.generateInvoicePdf(po);
+        byte[] pdf = poService.getInvoicePdf(po);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
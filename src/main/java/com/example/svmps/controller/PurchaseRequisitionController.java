@@ -1,9 +1,13 @@
 package com.example.svmps.controller;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,6 +17,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.svmps.dto.PrBulkDecisionRequest;
+import com.example.svmps.dto.PrDecisionResult;
+import com.example.svmps.dto.PrSearchPage;
 import com.example.svmps.dto.PurchaseRequisitionDto;
 import com.example.svmps.entity.ApprovalHistory;
 import com.example.svmps.repository.ApprovalHistoryRepository;
@@ -78,6 +85,17 @@ public class PurchaseRequisitionController {
         return prService.rejectPr(id, comments, approverId);
     }
 
+    // BULK APPROVE / REJECT → FINANCE and ADMIN (rejections ADMIN only, per item)
+    @PostMapping("/bulk-decision")
+    @PreAuthorize("hasAnyRole('ADMIN','FINANCE')")
+    public List<PrDecisionResult> bulkDecision(
+            @Valid @RequestBody PrBulkDecisionRequest request,
+            Authentication authentication) {
+        boolean canReject = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        return prService.decideAll(request, canReject);
+    }
+
     // APPROVAL HISTORY → ADMIN, PROCUREMENT, FINANCE
     @GetMapping("/{id}/history")
     @PreAuthorize("hasAnyRole('ADMIN','PROCUREMENT','FINANCE')")
@@ -91,6 +109,25 @@ public class PurchaseRequisitionController {
         return historyRepository.findAll();
     }
 
+    // SEARCH (keyset paged) → ADMIN, PROCUREMENT, FINANCE
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN','PROCUREMENT','FINANCE')")
+    public PrSearchPage searchPrs(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long vendorId,
+            @RequestParam(required = false) String requesterEmail,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return prService.searchPrs(
+                status, vendorId, requesterEmail, minAmount, maxAmount,
+                createdFrom, createdTo, cursor, size);
+    }
+
     // GET PR BY ID → ADMIN, PROCUREMENT, FINANCE
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','PROCUREMENT','FINANCE')")
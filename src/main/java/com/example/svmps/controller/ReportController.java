@@ -1,22 +1,36 @@
 package com.example.svmps.controller;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.svmps.dto.DataVersion;
 import com.example.svmps.dto.PurchaseOrderDto;
 import com.example.svmps.dto.PurchaseRequisitionDto;
 import com.example.svmps.dto.VendorDto;
+import com.example.svmps.service.ListReportRenderer;
 import com.example.svmps.service.PurchaseOrderService;
 import com.example.svmps.service.PurchaseRequisitionService;
+import com.example.svmps.service.ReportBulkhead;
+import com.example.svmps.service.ReportOutputCache;
 import com.example.svmps.service.ReportService;
 import com.example.svmps.service.VendorService;
 
@@ -29,30 +43,40 @@ public class ReportController {
     private final PurchaseRequisitionService prService;
     private final PurchaseOrderService poService;
     private final ReportService reportService;
+    private final ListReportRenderer listReportRenderer;
+    private final ReportOutputCache reportOutputCache;
+    private final ReportBulkhead reportBulkhead;
 
     public ReportController(
             VendorService vendorService,
             PurchaseRequisitionService prService,
             PurchaseOrderService poService,
-            ReportService reportService) {
+            ReportService reportService,
+            ListReportRenderer listReportRenderer,
+            ReportOutputCache reportOutputCache,
+            ReportBulkhead reportBulkhead) {
 
         this.vendorService = vendorService;
         this.prService = prService;
         this.poService = poService;
         this.reportService = reportService;
+        this.listReportRenderer = listReportRenderer;
+        this.reportOutputCache = reportOutputCache;
+        this.reportBulkhead = reportBulkhead;
     }
 
     // ================= VENDORS =================
     @GetMapping("/vendors")
-    public ResponseEntity<byte[]> vendors(
-            @RequestParam(defaultValue = "pdf") String format) {
+    public ResponseEntity<StreamingResponseBody> vendors(
+            @RequestParam(defaultValue = "pdf") String format,
+            @RequestParam(required = false) String engine,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        List<VendorDto> data = vendorService.getAllVendors();
-        return buildResponse("vendor", data, "vendors", format);
+        return buildListResponse("vendor", "vendors", format, engine, ifNoneMatch);
     }
 
     @GetMapping("/vendors/{id}")
-    public ResponseEntity<byte[]> vendorById(
+    public ResponseEntity<StreamingResponseBody> vendorById(
             @PathVariable Long id,
             @RequestParam(defaultValue = "pdf") String format) {
 
@@ -63,15 +87,16 @@ public class ReportController {
 
     // ================= PR =================
     @GetMapping("/pr")
-    public ResponseEntity<byte[]> prs(
-            @RequestParam(defaultValue = "pdf") String format) {
+    public ResponseEntity<StreamingResponseBody> prs(
+            @RequestParam(defaultValue = "pdf") String format,
+            @RequestParam(required = false) String engine,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        List<PurchaseRequisitionDto> data = prService.getAllPrs();
-        return buildResponse("pr", data, "prs", format);
+        return buildListResponse("pr", "prs", format, engine, ifNoneMatch);
     }
 
     @GetMapping("/pr/{id}")
-    public ResponseEntity<byte[]> prById(
+    public ResponseEntity<StreamingResponseBody> prById(
             @PathVariable Long id,
             @RequestParam(defaultValue = "pdf") String format) {
 
@@ -82,15 +107,16 @@ public class ReportController {
 
     // ================= PO =================
     @GetMapping("/po")
-    public ResponseEntity<byte[]> pos(
-            @RequestParam(defaultValue = "pdf") String format) {
+    public ResponseEntity<StreamingResponseBody> pos(
+            @RequestParam(defaultValue = "pdf") String format,
+            @RequestParam(required = false) String engine,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        List<PurchaseOrderDto> data = poService.getAllPos();
-        return buildResponse("po", data, "pos", format);
+        return buildListResponse("po", "pos", format, engine, ifNoneMatch);
     }
 
     @GetMapping("/po/{id}")
-    public ResponseEntity<byte[]> poById(
+    public ResponseEntity<StreamingResponseBody> poById(
             @PathVariable Long id,
             @RequestParam(defaultValue = "pdf") String format) {
 
@@ -100,25 +126,134 @@ public class ReportController {
     }
 
     // ================= COMMON =================
-    private ResponseEntity<byte[]> buildResponse(
+    /**
+     * List reports are cached per data version. The ETag is derived from the
+     * version, so a client holding the current file gets a 304 without
+     * anything being rendered or read from the cache.
+     */
+    private ResponseEntity<StreamingResponseBody> buildListResponse(
+            String reportName,
+            String fileName,
+            String format,
+            String engine,
+            String ifNoneMatch) {
+
+        String extension = listReportRenderer.extension(format);
+        DataVersion version = reportOutputCache.dataVersion(reportName);
+        String key = reportOutputCache.key(reportName, listReportRenderer.variant(format, engine), version);
+        String etag = reportOutputCache.etag(key);
+
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        InputStream cached = reportOutputCache.open(key);
+        if (cached != null) {
+            return download(fileName, extension)
+                    .eTag(etag)
+                    .body(out -> {
+                        try (InputStream in = cached) {
+                            in.transferTo(out);
+                        }
+                    });
+        }
+
+        // Admitted before anything is loaded; released when the render completes
+        long estimate = reportBulkhead.estimate(version.getRowCount(), listReportRenderer.isTabular(format, engine));
+        ReportBulkhead.Permit permit = reportBulkhead.acquire(reportName, estimate);
+        ReportOutputCache.Renderer renderer;
+        try {
+            renderer = listReportRenderer.renderer(reportName, format, engine);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        releaseOnCompletion(permit);
+
+        return download(fileName, extension)
+                .eTag(etag)
+                .body(out -> {
+                    try (permit) {
+                        reportOutputCache.render(key, out, renderer);
+                    }
+                });
+    }
+
+    /**
+     * A permit is taken on the request thread and closed by the response body.
+     * If the body never runs (executor rejected the task, the request timed
+     * out first, the client went away) or ends abnormally, the async request
+     * still completes, so the permit is closed there as well. Closing twice
+     * is a no-op.
+     */
+    private void releaseOnCompletion(ReportBulkhead.Permit permit) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        WebAsyncUtils.getAsyncManager(attributes.getRequest())
+                .registerCallableInterceptor(permit, new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        permit.close();
+                    }
+                });
+    }
+
+    private ResponseEntity.BodyBuilder download(String fileName, String extension) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + fileName + "." + extension)
+                .contentType(MediaType.parseMediaType(listReportRenderer.contentType(extension)));
+    }
+
+    // If-None-Match may hold several (possibly weak) tags or "*"
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The exporter writes straight into the servlet output stream; only the
+    // filled report and the exporter's page buffers are held in memory.
+    private ResponseEntity<StreamingResponseBody> buildResponse(
             String reportName,
             List<?> data,
             String fileName,
             String format) {
 
+        ReportBulkhead.Permit permit = reportBulkhead.acquire(reportName,
+                reportBulkhead.estimate(data.size(), false));
+        releaseOnCompletion(permit);
+
         if ("xlsx".equalsIgnoreCase(format)) {
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION,
                             "attachment; filename=" + fileName + ".xlsx")
                     .contentType(MediaType.parseMediaType(
                             "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .body(reportService.exportExcel(reportName, data));
+                    .body(out -> {
+                        try (permit) {
+                            reportService.writeExcel(reportName, data, out);
+                        }
+                    });
         }
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=" + fileName + ".pdf")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(reportService.exportPdf(reportName, data));
+                .body(out -> {
+                    try (permit) {
+                        reportService.writePdf(reportName, data, out);
+                    }
+                });
     }
 }
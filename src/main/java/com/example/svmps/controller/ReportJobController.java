@@ -0,0 +1,79 @@
+package com.example.svmps.controller;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.svmps.dto.ReportJobDto;
+import com.example.svmps.entity.ReportLog;
+import com.example.svmps.service.ReportJobService;
+
+@RestController
+@RequestMapping("/api/reports/jobs")
+@PreAuthorize("hasAnyRole('ADMIN','PROCUREMENT','FINANCE')")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    public ReportJobController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    // ================= SUBMIT =================
+    // report: pr | po | vendor; format and engine as for /api/reports/{report}
+    @PostMapping
+    public ResponseEntity<ReportJobDto> submit(
+            @RequestParam String report,
+            @RequestParam(defaultValue = "pdf") String format,
+            @RequestParam(required = false) String engine) {
+
+        ReportJobDto job = reportJobService.submit(report, format, engine);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // ================= STATUS =================
+    @GetMapping("/{id}")
+    public ReportJobDto getJob(@PathVariable Long id) {
+        return reportJobService.getJob(id);
+    }
+
+    // ================= DOWNLOAD =================
+    @GetMapping("/{id}/download")
+    public ResponseEntity<?> download(@PathVariable Long id) {
+
+        ReportLog job = reportJobService.getCompletedJob(id);
+        if (job == null) {
+            // Not finished (or failed): the body tells the client which
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(reportJobService.getJob(id));
+        }
+
+        StreamingResponseBody body = out -> {
+            try (InputStream in = Files.newInputStream(Paths.get(job.getArtifactPath()))) {
+                in.transferTo(out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + job.getReportName() + "_" + id + "." + job.getFormat())
+                .contentType(MediaType.parseMediaType(reportJobService.contentType(job)))
+                .contentLength(job.getArtifactSize())
+                .body(body);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.svmps.dto;
+
+/**
+ * Fingerprint of a report's tables: the sum of their write counters
+ * (data_versions, bumped by triggers on every insert, update and delete)
+ * plus the row count, which sizes the render.
+ */
+public class DataVersion {
+
+    private final long version;
+    private final long rowCount;
+
+    public DataVersion(long version, long rowCount) {
+        this.version = version;
+        this.rowCount = rowCount;
+    }
+
+    // ===== GETTERS =====
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "v" + version + "/" + rowCount;
+    }
+}
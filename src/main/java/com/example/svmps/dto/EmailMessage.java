@@ -0,0 +1,31 @@
+package com.example.svmps.dto;
+
+/**
+ * One notification email, for sending many in a single async task.
+ */
+public class EmailMessage {
+
+    private final String to;
+    private final String subject;
+    private final String body;
+
+    public EmailMessage(String to, String subject, String body) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    // ===== GETTERS =====
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.svmps.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a PR or PO (pr_line_items / po_line_items). Line numbers start
+ * at 1 and follow the order of the items in the DTO lists.
+ */
+public class LineItem {
+
+    private final int lineNo;
+    private final String itemName;
+    private final int quantity;
+    private final BigDecimal unitAmount;
+
+    public LineItem(int lineNo, String itemName, int quantity, BigDecimal unitAmount) {
+        this.lineNo = lineNo;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.unitAmount = unitAmount;
+    }
+
+    // ===== GETTERS =====
+
+    public int getLineNo() {
+        return lineNo;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getUnitAmount() {
+        return unitAmount;
+    }
+
+    public BigDecimal getLineAmount() {
+        return unitAmount.multiply(BigDecimal.valueOf(quantity));
+    }
+}
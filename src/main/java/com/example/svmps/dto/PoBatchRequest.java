@@ -0,0 +1,71 @@
+package com.example.svmps.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * POST /api/po/batch: one PO per PR, all with the same tax percentages.
+ * The POs are inserted over JDBC, which skips the entity's bean validation,
+ * so the PurchaseOrder ranges are repeated here.
+ */
+public class PoBatchRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull Long> prIds;
+
+    @NotNull(message = "CGST percentage is required")
+    @DecimalMin(value = "1.0", message = "CGST must be between 1 and 100")
+    @DecimalMax(value = "100.0", message = "CGST must be between 1 and 100")
+    private BigDecimal cgstPercent;
+
+    @NotNull(message = "SGST percentage is required")
+    @DecimalMin(value = "1.0", message = "SGST must be between 1 and 100")
+    @DecimalMax(value = "100.0", message = "SGST must be between 1 and 100")
+    private BigDecimal sgstPercent;
+
+    @NotNull(message = "IGST percentage is required")
+    @DecimalMin(value = "0.0", message = "IGST must be between 0 and 100")
+    @DecimalMax(value = "100.0", message = "IGST must be between 0 and 100")
+    private BigDecimal igstPercent;
+
+    // ===== GETTERS & SETTERS =====
+
+    public List<Long> getPrIds() {
+        return prIds;
+    }
+
+    public void setPrIds(List<Long> prIds) {
+        this.prIds = prIds;
+    }
+
+    public BigDecimal getCgstPercent() {
+        return cgstPercent;
+    }
+
+    public void setCgstPercent(BigDecimal cgstPercent) {
+        this.cgstPercent = cgstPercent;
+    }
+
+    public BigDecimal getSgstPercent() {
+        return sgstPercent;
+    }
+
+    public void setSgstPercent(BigDecimal sgstPercent) {
+        this.sgstPercent = sgstPercent;
+    }
+
+    public BigDecimal getIgstPercent() {
+        return igstPercent;
+    }
+
+    public void setIgstPercent(BigDecimal igstPercent) {
+        this.igstPercent = igstPercent;
+    }
+}
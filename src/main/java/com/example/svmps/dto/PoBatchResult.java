@@ -0,0 +1,52 @@
+package com.example.svmps.dto;
+
+/**
+ * Outcome for one PR of a batch PO creation; failed items carry the reason.
+ */
+public class PoBatchResult {
+
+    private Long prId;
+    private boolean success;
+    private Long poId;
+    private String poNumber;
+    private String error;
+
+    public static PoBatchResult created(Long prId, Long poId, String poNumber) {
+        PoBatchResult result = new PoBatchResult();
+        result.prId = prId;
+        result.success = true;
+        result.poId = poId;
+        result.poNumber = poNumber;
+        return result;
+    }
+
+    public static PoBatchResult failed(Long prId, String error) {
+        PoBatchResult result = new PoBatchResult();
+        result.prId = prId;
+        result.success = false;
+        result.error = error;
+        return result;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getPrId() {
+        return prId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public Long getPoId() {
+        return poId;
+    }
+
+    public String getPoNumber() {
+        return poNumber;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.svmps.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat PO row with exactly the columns of the po report template.
+ * Built directly by JPQL constructor expressions.
+ */
+public class PoReportRow {
+
+    private final Long id;
+    private final String poNumber;
+    private final String status;
+    private final BigDecimal totalAmount;
+    private final Integer remainingQuantity;
+
+    public PoReportRow(Long id, String poNumber, String status, BigDecimal totalAmount,
+            Integer totalQuantity, Integer deliveredQuantity) {
+        this.id = id;
+        this.poNumber = poNumber;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.remainingQuantity = totalQuantity == null || deliveredQuantity == null
+                ? null
+                : totalQuantity - deliveredQuantity;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPoNumber() {
+        return poNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Integer getRemainingQuantity() {
+        return remainingQuantity;
+    }
+
+    // Not tracked on purchase orders yet (PurchaseOrderDto leaves it empty too)
+    public BigDecimal getBalanceAmount() {
+        return null;
+    }
+}
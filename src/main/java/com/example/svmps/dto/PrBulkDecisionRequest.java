@@ -0,0 +1,78 @@
+package com.example.svmps.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * POST /api/pr/bulk-decision: approve or reject many SUBMITTED PRs at once.
+ */
+public class PrBulkDecisionRequest {
+
+    @NotNull
+    private Long approverId;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull @Valid Decision> decisions;
+
+    // ===== GETTERS & SETTERS =====
+
+    public Long getApproverId() {
+        return approverId;
+    }
+
+    public void setApproverId(Long approverId) {
+        this.approverId = approverId;
+    }
+
+    public List<Decision> getDecisions() {
+        return decisions;
+    }
+
+    public void setDecisions(List<Decision> decisions) {
+        this.decisions = decisions;
+    }
+
+    public static class Decision {
+
+        @NotNull
+        private Long id;
+
+        @NotBlank
+        @Pattern(regexp = "APPROVE|REJECT")
+        private String action;
+
+        @Size(max = 255)
+        private String comments;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public void setAction(String action) {
+            this.action = action;
+        }
+
+        public String getComments() {
+            return comments;
+        }
+
+        public void setComments(String comments) {
+            this.comments = comments;
+        }
+    }
+}
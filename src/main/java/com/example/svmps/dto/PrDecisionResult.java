@@ -0,0 +1,46 @@
+package com.example.svmps.dto;
+
+/**
+ * Outcome for one PR of a bulk approve/reject; failed items carry the reason.
+ */
+public class PrDecisionResult {
+
+    private Long prId;
+    private boolean success;
+    private String status;
+    private String error;
+
+    public static PrDecisionResult decided(Long prId, String status) {
+        PrDecisionResult result = new PrDecisionResult();
+        result.prId = prId;
+        result.success = true;
+        result.status = status;
+        return result;
+    }
+
+    public static PrDecisionResult failed(Long prId, String error) {
+        PrDecisionResult result = new PrDecisionResult();
+        result.prId = prId;
+        result.success = false;
+        result.error = error;
+        return result;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getPrId() {
+        return prId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
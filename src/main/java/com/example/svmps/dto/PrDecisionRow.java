@@ -0,0 +1,47 @@
+package com.example.svmps.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * PR columns an approval decision reads: the current status plus what the
+ * notification email prints.
+ */
+public class PrDecisionRow {
+
+    private final Long id;
+    private final String prNumber;
+    private final String status;
+    private final BigDecimal totalAmount;
+    private final String requesterEmail;
+
+    public PrDecisionRow(Long id, String prNumber, String status,
+            BigDecimal totalAmount, String requesterEmail) {
+        this.id = id;
+        this.prNumber = prNumber;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.requesterEmail = requesterEmail;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPrNumber() {
+        return prNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+}
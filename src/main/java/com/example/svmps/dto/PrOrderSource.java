@@ -0,0 +1,53 @@
+package com.example.svmps.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * The PR columns a PO is created from, without the vendor/user graph.
+ * Built directly by JPQL constructor expressions.
+ */
+public class PrOrderSource {
+
+    private final Long id;
+    private final String status;
+    private final BigDecimal totalAmount;
+    private final String itemsJson;
+    private final String quantityJson;
+    private final Integer totalQuantity;
+
+    public PrOrderSource(Long id, String status, BigDecimal totalAmount,
+            String itemsJson, String quantityJson, Integer totalQuantity) {
+        this.id = id;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.itemsJson = itemsJson;
+        this.quantityJson = quantityJson;
+        this.totalQuantity = totalQuantity;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getItemsJson() {
+        return itemsJson;
+    }
+
+    public String getQuantityJson() {
+        return quantityJson;
+    }
+
+    public Integer getTotalQuantity() {
+        return totalQuantity;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.svmps.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat PR row with exactly the columns of the pr report template.
+ * Built directly by JPQL constructor expressions.
+ */
+public class PrReportRow {
+
+    private final Long id;
+    private final String prNumber;
+    private final String status;
+    private final BigDecimal totalAmount;
+
+    public PrReportRow(Long id, String prNumber, String status, BigDecimal totalAmount) {
+        this.id = id;
+        this.prNumber = prNumber;
+        this.status = status;
+        this.totalAmount = totalAmount;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPrNumber() {
+        return prNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.svmps.dto;
+
+import java.util.List;
+
+/**
+ * One page of GET /api/pr/search. Pass {@code nextCursor} back as
+ * {@code cursor} for the following page; it is null on the last page.
+ */
+public class PrSearchPage {
+
+    private final List<PurchaseRequisitionDto> items;
+    private final String nextCursor;
+
+    public PrSearchPage(List<PurchaseRequisitionDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // ===== GETTERS =====
+
+    public List<PurchaseRequisitionDto> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.svmps.dto;
+
+/**
+ * Vendor shown next to a PO, looked up by the PO's PR id.
+ * Built directly by JPQL constructor expressions.
+ */
+public class PrVendorRow {
+
+    private final Long prId;
+    private final String vendorName;
+    private final Boolean vendorIsActive;
+
+    public PrVendorRow(Long prId, String vendorName, Boolean vendorIsActive) {
+        this.prId = prId;
+        this.vendorName = vendorName;
+        this.vendorIsActive = vendorIsActive;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getPrId() {
+        return prId;
+    }
+
+    public String getVendorName() {
+        return vendorName;
+    }
+
+    public Boolean getVendorIsActive() {
+        return vendorIsActive;
+    }
+}
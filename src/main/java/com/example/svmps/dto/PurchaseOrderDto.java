@@ -1,6 +1,7 @@
 package com.example.svmps.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class PurchaseOrderDto {
 
@@ -27,6 +28,7 @@ public class PurchaseOrderDto {
     private BigDecimal balanceAmount;
     private String vendorName;
     private Boolean vendorIsActive;
+    private LocalDateTime updatedAt;
 
     // ===== GETTERS & SETTERS =====
     public Long getId() {
@@ -180,4 +182,12 @@ public class PurchaseOrderDto {
     public void setBalanceAmount(BigDecimal balanceAmount) {
         this.balanceAmount = balanceAmount;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -3,8 +3,11 @@ package com.example.svmps.dto;
 import java.math.BigDecimal;
 import java.util.List;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public class PurchaseRequisitionDto {
 
@@ -31,14 +34,16 @@ public class PurchaseRequisitionDto {
 
     private String comments;
 
+    // Sized to pr_line_items.item_name
     @NotNull
-    private List<String> items;
+    private List<@NotBlank @Size(max = 255) String> items;
 
     @NotNull
-    private List<@Min(1) Integer> quantities;
+    private List<@NotNull @Min(1) Integer> quantities;
 
+    // Sized to pr_line_items.unit_amount (DECIMAL(15,2))
     @NotNull
-    private List<@Min(1) BigDecimal> itemAmounts;
+    private List<@NotNull @Min(1) @Digits(integer = 13, fraction = 2) BigDecimal> itemAmounts;
 
     // ===== GETTERS & SETTERS =====
 
@@ -0,0 +1,52 @@
+package com.example.svmps.dto;
+
+/**
+ * Flat vendor row with exactly the columns of the vendor report template.
+ * Built directly by JPQL constructor expressions; name and email follow the
+ * same linked-user rules as VendorService.
+ */
+public class VendorReportRow {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final Double rating;
+    private final String location;
+
+    public VendorReportRow(Long id, String name, String email, String phone,
+            Double rating, String location) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.rating = rating;
+        this.location = location;
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+}
@@ -57,10 +57,10 @@ public class PurchaseOrder {
     @Column(name = "total_amount")
     private BigDecimal totalAmount;
 
-    @Column(name = "items_json", length = 1000)
+    @Column(name = "items_json", columnDefinition = "MEDIUMTEXT")
     private String itemsJson;
 
-    @Column(name = "quantity_json", length = 1000)
+    @Column(name = "quantity_json", columnDefinition = "MEDIUMTEXT")
     private String quantityJson;
 
     @Column(name = "delivered_quantity")
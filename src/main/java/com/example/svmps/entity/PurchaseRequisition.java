@@ -49,15 +49,22 @@ public class PurchaseRequisition {
 
     /* ============ NEW IN SAME STRUCTURE ============ */
 
-    @Column(name = "items_json", length = 1000)
+    @Column(name = "items_json", columnDefinition = "MEDIUMTEXT")
     private String itemsJson;
 
-    @Column(name = "quantity_json", length = 1000)
+    @Column(name = "quantity_json", columnDefinition = "MEDIUMTEXT")
     private String quantityJson;
 
-    @Column(name = "item_amount_json", length = 1000)
+    @Column(name = "item_amount_json", columnDefinition = "MEDIUMTEXT")
     private String itemAmountJson;
 
+    // Aggregates of pr_line_items, set whenever the lines are written
+    @Column(name = "line_count")
+    private Integer lineCount;
+
+    @Column(name = "total_quantity")
+    private Integer totalQuantity;
+
     public PurchaseRequisition() {}
 
     @PrePersist
@@ -152,6 +159,22 @@ public class PurchaseRequisition {
         this.itemAmountJson = itemAmountJson;
     }
 
+    public Integer getLineCount() {
+        return lineCount;
+    }
+
+    public void setLineCount(Integer lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    public Integer getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Integer totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
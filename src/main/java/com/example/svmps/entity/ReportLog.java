@@ -24,6 +24,41 @@ public class ReportLog {
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
 
+    // ===== ON-DEMAND JOBS =====
+
+    private String reportName;
+
+    private String format;
+
+    // Report, output variant and data version; identical queued jobs share it
+    private String paramsKey;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private String artifactPath;
+
+    private Long artifactSize;
+
+    // Instance that queued the job; only its restart may fail the job
+    private String nodeId;
+
+    // ===== SCHEDULED RUNS =====
+
+    // JSON object of stage name -> milliseconds
+    @Column(columnDefinition = "TEXT")
+    private String stageTimings;
+
+    // JSON object of attachment file name -> ReportArtifactStore hash
+    @Column(columnDefinition = "TEXT")
+    private String attachmentRefs;
+
+    // Rows changed in [windowStart, windowEnd); no start means a full snapshot
+    private LocalDateTime windowStart;
+
+    private LocalDateTime windowEnd;
+
     public ReportLog() {}
 
     public Long getId() {
@@ -73,4 +108,100 @@ public class ReportLog {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    public void setReportName(String reportName) {
+        this.reportName = reportName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getParamsKey() {
+        return paramsKey;
+    }
+
+    public void setParamsKey(String paramsKey) {
+        this.paramsKey = paramsKey;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getArtifactPath() {
+        return artifactPath;
+    }
+
+    public void setArtifactPath(String artifactPath) {
+        this.artifactPath = artifactPath;
+    }
+
+    public Long getArtifactSize() {
+        return artifactSize;
+    }
+
+    public void setArtifactSize(Long artifactSize) {
+        this.artifactSize = artifactSize;
+    }
+
+    public String getStageTimings() {
+        return stageTimings;
+    }
+
+    public void setStageTimings(String stageTimings) {
+        this.stageTimings = stageTimings;
+    }
+
+    public String getAttachmentRefs() {
+        return attachmentRefs;
+    }
+
+    public void setAttachmentRefs(String attachmentRefs) {
+        this.attachmentRefs = attachmentRefs;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
 }
@@ -2,6 +2,7 @@ package com.example.svmps.entity;
 
 public enum ReportStatus {
     PENDING,
+    RUNNING,
     SUCCESS,
     FAILED
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.example.svmps.entity;
 
 public enum ReportType {
     DAILY,
-    WEEKLY
+    WEEKLY,
+    ON_DEMAND
 }
 
@@ -1,5 +1,9 @@
 package com.example.svmps.exception;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,4 +26,25 @@ public class GlobalExceptionHandler {
         public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
                 return ResponseEntity.badRequest().body(e.getMessage());
         }
+
+        @ExceptionHandler(ResourceNotFoundException.class)
+        public ResponseEntity<String> handleResourceNotFoundException(ResourceNotFoundException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+
+        // A bounded worker pool is full; the client should try again later
+        @ExceptionHandler(RejectedExecutionException.class)
+        public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "30")
+                                .body("Server is busy, please retry later");
+        }
+
+        // Report bulkhead saturated: 429 when its wait queue is full, 503 on timeout
+        @ExceptionHandler(ReportCapacityException.class)
+        public ResponseEntity<String> handleReportCapacityException(ReportCapacityException e) {
+                return ResponseEntity.status(e.getStatus())
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                                .body(e.getMessage());
+        }
 }
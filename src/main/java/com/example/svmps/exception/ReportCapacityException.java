@@ -0,0 +1,27 @@
+package com.example.svmps.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when the report bulkhead cannot admit a render. Mapped to 429 (wait
+ * queue full) or 503 (no capacity freed up in time) with a Retry-After header.
+ */
+public class ReportCapacityException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ReportCapacityException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
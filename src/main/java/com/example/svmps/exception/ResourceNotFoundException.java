@@ -0,0 +1,12 @@
+package com.example.svmps.exception;
+
+/**
+ * Thrown when a requested resource does not exist (or is no longer
+ * available). Mapped to 404.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
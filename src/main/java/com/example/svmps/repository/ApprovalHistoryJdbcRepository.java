@@ -0,0 +1,41 @@
+package com.example.svmps.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.svmps.entity.ApprovalHistory;
+
+/**
+ * Bulk approval history inserts over plain JDBC; Hibernate cannot batch
+ * inserts of IDENTITY ids.
+ */
+@Repository
+public class ApprovalHistoryJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApprovalHistoryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<ApprovalHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (ApprovalHistory h : entries) {
+            rows.add(new Object[] { h.getPrId(), h.getApproverId(), h.getAction(), h.getComments(), now });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO approval_history (pr_id, approver_id, action, comments, action_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, rows);
+    }
+}
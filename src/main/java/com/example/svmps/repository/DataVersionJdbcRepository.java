@@ -0,0 +1,35 @@
+package com.example.svmps.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.svmps.dto.DataVersion;
+
+/**
+ * Reads the write counters maintained by the V24 triggers.
+ */
+@Repository
+public class DataVersionJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public DataVersionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Version over all {@code tables} and the row count of the first one.
+     * Table names come from code, never from a request.
+     */
+    public DataVersion find(List<String> tables) {
+        return namedJdbcTemplate.queryForObject(
+                "SELECT (SELECT COALESCE(SUM(version), 0) FROM data_versions WHERE name IN (:tables)) AS version, "
+                        + "(SELECT COUNT(*) FROM " + tables.get(0) + ") AS row_count",
+                new MapSqlParameterSource("tables", tables),
+                (rs, i) -> new DataVersion(rs.getLong("version"), rs.getLong("row_count")));
+    }
+}
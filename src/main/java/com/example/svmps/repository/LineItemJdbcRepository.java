@@ -0,0 +1,107 @@
+package com.example.svmps.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.svmps.dto.LineItem;
+
+/**
+ * PR and PO line items over plain JDBC: lines are written as one batch per
+ * document and read for a whole page of documents in one query.
+ */
+@Repository
+public class LineItemJdbcRepository {
+
+    private static final int READ_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public LineItemJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // ================= PR LINES =================
+
+    /**
+     * Replaces all lines of the PR.
+     */
+    public void replacePrLines(Long prId, List<LineItem> lines) {
+        jdbcTemplate.update("DELETE FROM pr_line_items WHERE pr_id = ?", prId);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(lines.size());
+        for (LineItem line : lines) {
+            rows.add(new Object[] {
+                    prId, line.getLineNo(), line.getItemName(), line.getQuantity(),
+                    line.getUnitAmount(), line.getLineAmount(), now });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO pr_line_items
+                    (pr_id, line_no, item_name, quantity, unit_amount, line_amount, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    /**
+     * Lines per PR id, in line order. PRs without lines are absent from the map.
+     */
+    public Map<Long, List<LineItem>> findPrLines(Collection<Long> prIds) {
+        Map<Long, List<LineItem>> lines = new HashMap<>();
+        List<Long> ids = new ArrayList<>(prIds);
+
+        for (int from = 0; from < ids.size(); from += READ_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + READ_CHUNK, ids.size()));
+            namedJdbcTemplate.query("""
+                    SELECT pr_id, line_no, item_name, quantity, unit_amount
+                    FROM pr_line_items
+                    WHERE pr_id IN (:prIds)
+                    ORDER BY pr_id, line_no
+                    """,
+                    new MapSqlParameterSource("prIds", chunk),
+                    rs -> {
+                        lines.computeIfAbsent(rs.getLong("pr_id"), id -> new ArrayList<>())
+                                .add(new LineItem(
+                                        rs.getInt("line_no"),
+                                        rs.getString("item_name"),
+                                        rs.getInt("quantity"),
+                                        rs.getBigDecimal("unit_amount")));
+                    });
+        }
+        return lines;
+    }
+
+    // ================= PO LINES =================
+
+    /**
+     * Copies to each PO the lines of the PR it was created from. One
+     * INSERT ... SELECT per chunk of POs, joining each PO to its PR's lines.
+     */
+    public void copyPrLinesToPos(Collection<Long> poIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = new ArrayList<>(poIds);
+
+        for (int from = 0; from < ids.size(); from += READ_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + READ_CHUNK, ids.size()));
+            namedJdbcTemplate.update("""
+                    INSERT INTO po_line_items (po_id, line_no, item_name, quantity, created_at)
+                    SELECT po.id, l.line_no, l.item_name, l.quantity, :now
+                    FROM purchase_orders po
+                    JOIN pr_line_items l ON l.pr_id = po.pr_id
+                    WHERE po.id IN (:poIds)
+                    """,
+                    new MapSqlParameterSource("poIds", chunk).addValue("now", now));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.svmps.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.example.svmps.entity.PurchaseOrder;
+
+/**
+ * Bulk PO inserts over plain JDBC.
+ *
+ * Hibernate cannot batch inserts of IDENTITY ids, so the batch goes through
+ * JdbcTemplate; with {@code rewriteBatchedStatements=true} on the JDBC URL
+ * the driver sends it as a few multi-row INSERTs.
+ */
+@Repository
+public class PurchaseOrderJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO purchase_orders (
+                po_number, pr_id, status, base_amount,
+                cgst_percent, sgst_percent, igst_percent,
+                cgst_amount, sgst_amount, igst_amount, total_gst_amount, total_amount,
+                items_json, quantity_json, total_quantity, delivered_quantity,
+                created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PurchaseOrderJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the POs in one batch and sets their generated ids.
+     */
+    public void insertAll(List<PurchaseOrder> pos) {
+        if (pos.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PurchaseOrder po = pos.get(i);
+                        ps.setString(1, po.getPoNumber());
+                        ps.setLong(2, po.getPrId());
+                        ps.setString(3, po.getStatus());
+                        ps.setBigDecimal(4, po.getBaseAmount());
+                        ps.setBigDecimal(5, po.getCgstPercent());
+                        ps.setBigDecimal(6, po.getSgstPercent());
+                        ps.setBigDecimal(7, po.getIgstPercent());
+                        ps.setBigDecimal(8, po.getCgstAmount());
+                        ps.setBigDecimal(9, po.getSgstAmount());
+                        ps.setBigDecimal(10, po.getIgstAmount());
+                        ps.setBigDecimal(11, po.getTotalGstAmount());
+                        ps.setBigDecimal(12, po.getTotalAmount());
+                        ps.setString(13, po.getItemsJson());
+                        ps.setString(14, po.getQuantityJson());
+                        ps.setInt(15, po.getTotalQuantity());
+                        ps.setInt(16, po.getDeliveredQuantity());
+                        ps.setTimestamp(17, now);
+                        ps.setTimestamp(18, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pos.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < pos.size(); i++) {
+            Number id = (Number) generated.get(i).values().iterator().next();
+            pos.get(i).setId(id.longValue());
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.example.svmps.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.example.svmps.dto.PoReportRow;
 import com.example.svmps.entity.PurchaseOrder;
 
+import jakarta.persistence.QueryHint;
+
 public interface PurchaseOrderRepository
         extends JpaRepository<PurchaseOrder, Long> {
 
-    // Existing usage (by PR)
+    // By PR (idx_po_pr_id)
     List<PurchaseOrder> findByPrId(Long prId);
 
     // 🔥 REQUIRED: Vendor should see ONLY their own POs
@@ -22,4 +30,49 @@ public interface PurchaseOrderRepository
         WHERE pr.vendor.id = :vendorId
     """)
     List<PurchaseOrder> findByVendorId(@Param("vendorId") Long vendorId);
+
+    // Bulk invoice download; status is optional
+    @Query("""
+        SELECT po
+        FROM PurchaseOrder po
+        JOIN PurchaseRequisition pr ON po.prId = pr.id
+        WHERE pr.vendor.id = :vendorId
+          AND (:status IS NULL OR po.status = :status)
+        ORDER BY po.id
+    """)
+    List<PurchaseOrder> findByVendorIdAndStatus(
+            @Param("vendorId") Long vendorId,
+            @Param("status") String status);
+
+    // Records a delivery in one statement: the bound check, the increment and
+    // the status change happen atomically in the database. status is assigned
+    // first because MySQL applies SET assignments left to right.
+    // Returns 0 when the PO does not exist or the quantity would exceed the order.
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE PurchaseOrder po
+        SET po.status = CASE
+                WHEN po.deliveredQuantity + :quantity = po.totalQuantity THEN 'DELIVERED'
+                ELSE 'PARTIAL_DELIVERED'
+            END,
+            po.deliveredQuantity = po.deliveredQuantity + :quantity,
+            po.updatedAt = :now
+        WHERE po.id = :poId
+          AND po.deliveredQuantity + :quantity <= po.totalQuantity
+    """)
+    int addDelivery(
+            @Param("poId") Long poId,
+            @Param("quantity") int quantity,
+            @Param("now") LocalDateTime now);
+
+    // Report rows, streamed (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT new com.example.svmps.dto.PoReportRow(
+            po.id, po.poNumber, po.status, po.totalAmount,
+            po.totalQuantity, po.deliveredQuantity)
+        FROM PurchaseOrder po
+        ORDER BY po.id
+    """)
+    Stream<PoReportRow> streamReportRows();
 }
@@ -0,0 +1,60 @@
+package com.example.svmps.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.svmps.dto.PrDecisionRow;
+
+/**
+ * PR reads over plain JDBC that JPA would turn into extra queries: the PR
+ * entity eagerly loads its vendor, which a decision does not need.
+ */
+@Repository
+public class PurchaseRequisitionJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public PurchaseRequisitionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * The PRs as of the calling transaction's snapshot, without locking them.
+     * Missing ids are absent from the result.
+     */
+    public List<PrDecisionRow> findForDecision(Collection<Long> prIds) {
+        return namedJdbcTemplate.query("""
+                SELECT id, pr_number, status, total_amount, requester_email
+                FROM purchase_requisitions
+                WHERE id IN (:prIds)
+                """,
+                new MapSqlParameterSource("prIds", prIds),
+                (rs, i) -> new PrDecisionRow(
+                        rs.getLong("id"),
+                        rs.getString("pr_number"),
+                        rs.getString("status"),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getString("requester_email")));
+    }
+
+    /**
+     * Those of the PRs that are in the status as the calling transaction sees them.
+     */
+    public Set<Long> findIdsInStatus(Collection<Long> prIds, String status) {
+        return new HashSet<>(namedJdbcTemplate.queryForList("""
+                SELECT id
+                FROM purchase_requisitions
+                WHERE id IN (:prIds)
+                  AND status = :status
+                """,
+                new MapSqlParameterSource("prIds", prIds).addValue("status", status),
+                Long.class));
+    }
+}
@@ -1,17 +1,96 @@
 package com.example.svmps.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.example.svmps.dto.PrOrderSource;
+import com.example.svmps.dto.PrReportRow;
+import com.example.svmps.dto.PrVendorRow;
 import com.example.svmps.entity.PurchaseRequisition;
 
+import jakarta.persistence.QueryHint;
+
 public interface PurchaseRequisitionRepository
-        extends JpaRepository<PurchaseRequisition, Long> {
+        extends JpaRepository<PurchaseRequisition, Long>,
+                JpaSpecificationExecutor<PurchaseRequisition> {
 
     boolean existsByPrNumber(String prNumber);
 
     List<PurchaseRequisition> findByStatus(String status);
 
     List<PurchaseRequisition> findByVendorId(Long vendorId);
+
+    // Moves one PR if its status is still one of "from"; 0 when it is not (or does not exist)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE PurchaseRequisition pr
+        SET pr.status = :to, pr.updatedAt = :now
+        WHERE pr.id = :id
+          AND pr.status IN :from
+    """)
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Collection<String> from,
+                         @Param("to") String to,
+                         @Param("now") LocalDateTime now);
+
+    // Moves the PRs that are still in status "from"; returns how many moved
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE PurchaseRequisition pr
+        SET pr.status = :to, pr.updatedAt = :now
+        WHERE pr.id IN :prIds
+          AND pr.status = :from
+    """)
+    int updateStatus(@Param("prIds") Collection<Long> prIds,
+                     @Param("from") String from,
+                     @Param("to") String to,
+                     @Param("now") LocalDateTime now);
+
+    // PR columns needed to create POs, for many PRs in one query
+    @Query("""
+        SELECT new com.example.svmps.dto.PrOrderSource(
+            pr.id, pr.status, pr.totalAmount, pr.itemsJson, pr.quantityJson, pr.totalQuantity)
+        FROM PurchaseRequisition pr
+        WHERE pr.id IN :prIds
+    """)
+    List<PrOrderSource> findOrderSourcesByIds(@Param("prIds") Collection<Long> prIds);
+
+    // Vendor of each PR in one query, for PO listings (PRs without a vendor are left out)
+    @Query("""
+        SELECT new com.example.svmps.dto.PrVendorRow(pr.id, v.name, v.isActive)
+        FROM PurchaseRequisition pr
+        JOIN pr.vendor v
+        WHERE pr.id IN :prIds
+    """)
+    List<PrVendorRow> findVendorRowsByPrIds(@Param("prIds") Collection<Long> prIds);
+
+    // Report rows created or updated in [since, until); updated_at is set on insert too
+    @Query("""
+        SELECT new com.example.svmps.dto.PrReportRow(pr.id, pr.prNumber, pr.status, pr.totalAmount)
+        FROM PurchaseRequisition pr
+        WHERE pr.updatedAt >= :since AND pr.updatedAt < :until
+        ORDER BY pr.id
+    """)
+    List<PrReportRow> findReportRowsUpdatedBetween(
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until);
+
+    // Report rows, streamed (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT new com.example.svmps.dto.PrReportRow(pr.id, pr.prNumber, pr.status, pr.totalAmount)
+        FROM PurchaseRequisition pr
+        ORDER BY pr.id
+    """)
+    Stream<PrReportRow> streamReportRows();
 }
@@ -2,15 +2,40 @@ package com.example.svmps.repository;
 
 import com.example.svmps.entity.ReportLog;
 import com.example.svmps.entity.ReportStatus;
+import com.example.svmps.entity.ReportType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReportLogRepository extends JpaRepository<ReportLog, Long> {
 
-    List<ReportLog> findByStatusAndRetryCountLessThanOrderByGeneratedAtDesc(
+    List<ReportLog> findByStatusAndReportTypeInAndRetryCountLessThanOrderByGeneratedAtDesc(
             ReportStatus status,
+            Collection<ReportType> reportTypes,
             int retryCount,
             Pageable pageable);
+
+    // Unfinished jobs queued by this node, or by any node longer ago than a
+    // job can take (its node went away for good, or predates node ids)
+    @Query("""
+        SELECT r FROM ReportLog r
+        WHERE r.reportType = :reportType
+          AND r.status IN :statuses
+          AND (r.nodeId = :nodeId OR r.generatedAt < :abandonedBefore)
+    """)
+    List<ReportLog> findInterrupted(
+            @Param("reportType") ReportType reportType,
+            @Param("statuses") Collection<ReportStatus> statuses,
+            @Param("nodeId") String nodeId,
+            @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    Optional<ReportLog> findFirstByReportTypeAndStatusOrderByGeneratedAtDesc(
+            ReportType reportType,
+            ReportStatus status);
 }
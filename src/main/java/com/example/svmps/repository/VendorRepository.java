@@ -1,13 +1,22 @@
 package com.example.svmps.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional; //  THIS WAS MISSING
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.example.svmps.dto.VendorReportRow;
 import com.example.svmps.entity.Vendor;
 
+import jakarta.persistence.QueryHint;
+
 public interface VendorRepository
                 extends JpaRepository<Vendor, Long>,
                 JpaSpecificationExecutor<Vendor> {
@@ -20,4 +29,47 @@ public interface VendorRepository
 
         // NEW: Find vendor by linked User ID
         Optional<Vendor> findByUserId(Long userId);
+
+        // Report rows, streamed (must be consumed inside a transaction).
+        // Name/email prefer the linked user, as in VendorService.toDto
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+        @Query("""
+            SELECT new com.example.svmps.dto.VendorReportRow(
+                v.id,
+                CASE WHEN u.id IS NULL THEN v.name ELSE CONCAT(u.username, ' Company') END,
+                CASE WHEN u.id IS NULL THEN v.email ELSE u.email END,
+                v.phone, v.rating, v.location)
+            FROM Vendor v
+            LEFT JOIN v.user u
+            ORDER BY v.id
+        """)
+        Stream<VendorReportRow> streamReportRows();
+
+        // Report rows changed in [since, until). The linked user is checked by
+        // a separate query so each one can use its own updated_at index.
+        @Query("""
+            SELECT new com.example.svmps.dto.VendorReportRow(
+                v.id,
+                CASE WHEN u.id IS NULL THEN v.name ELSE CONCAT(u.username, ' Company') END,
+                CASE WHEN u.id IS NULL THEN v.email ELSE u.email END,
+                v.phone, v.rating, v.location)
+            FROM Vendor v
+            LEFT JOIN v.user u
+            WHERE v.updatedAt >= :since AND v.updatedAt < :until
+        """)
+        List<VendorReportRow> findReportRowsUpdatedBetween(
+                        @Param("since") LocalDateTime since,
+                        @Param("until") LocalDateTime until);
+
+        @Query("""
+            SELECT new com.example.svmps.dto.VendorReportRow(
+                v.id, CONCAT(u.username, ' Company'), u.email,
+                v.phone, v.rating, v.location)
+            FROM Vendor v
+            JOIN v.user u
+            WHERE u.updatedAt >= :since AND u.updatedAt < :until
+        """)
+        List<VendorReportRow> findReportRowsWithUserUpdatedBetween(
+                        @Param("since") LocalDateTime since,
+                        @Param("until") LocalDateTime until);
 }
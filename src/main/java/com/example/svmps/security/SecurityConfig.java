@@ -98,10 +98,12 @@ public class SecurityConfig {
 
                 config.setAllowedHeaders(List.of(
                                 "Authorization",
-                                "Content-Type"));
+                                "Content-Type",
+                                "If-None-Match"));
 
                 config.setExposedHeaders(List.of(
-                                "Content-Disposition"));
+                                "Content-Disposition",
+                                "ETag"));
 
                 config.setAllowCredentials(true);
 
@@ -1,5 +1,6 @@
 package com.example.svmps.service;
 
+import com.example.svmps.dto.EmailMessage;
 import com.example.svmps.entity.EmailLog;
 import com.example.svmps.entity.EmailStatus;
 import com.example.svmps.repository.EmailLogRepository;
@@ -57,6 +58,29 @@ public class EmailService {
         processEmail(savedLog, from);
     }
 
+    /**
+     * Sends many emails from one async task; the logs are saved together
+     * before anything goes out.
+     */
+    @Async
+    public void sendAll(List<EmailMessage> messages) {
+        List<EmailLog> logs = new ArrayList<>(messages.size());
+        for (EmailMessage message : messages) {
+            EmailLog log = new EmailLog();
+            log.setRecipient(message.getTo());
+            log.setSubject(message.getSubject());
+            log.setBody(message.getBody());
+            log.setStatus(EmailStatus.PENDING);
+            log.setRetryCount(0);
+            log.setLastAttempt(LocalDateTime.now());
+            logs.add(log);
+        }
+
+        for (EmailLog savedLog : repo.saveAll(logs)) {
+            processEmail(savedLog, null);
+        }
+    }
+
     @Async
     public void retry(EmailLog log) {
         processEmail(log, null);
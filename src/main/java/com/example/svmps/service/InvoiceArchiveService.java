@@ -0,0 +1,156 @@
+package com.example.svmps.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.svmps.dto.PurchaseOrderDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams a vendor's invoices as one ZIP archive.
+ *
+ * Invoices are generated on a small pool of its own and written to the zip
+ * in completion order. Each download keeps at most {@code in-flight}
+ * documents queued or finished but not yet written, so memory stays flat
+ * however many POs the vendor has; nothing is buffered beyond the zip
+ * stream itself.
+ */
+@Service
+public class InvoiceArchiveService {
+
+    private final PurchaseOrderService poService;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    @Value("${app.invoices.zip.workers:2}")
+    private int workers;
+
+    // Invoices per download that are being rendered or waiting to be written
+    @Value("${app.invoices.zip.in-flight:4}")
+    private int inFlight;
+
+    public InvoiceArchiveService(PurchaseOrderService poService, MeterRegistry meterRegistry) {
+        this.poService = poService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "invoice-zip-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        meterRegistry.gauge("invoices.zip.queued", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Writes one {@code Invoice_<poNumber>.pdf} entry per PO. A failed
+     * invoice or a closed connection cancels the rest of the archive and
+     * leaves it unfinished, so the client gets a broken download rather than
+     * a valid zip with invoices missing.
+     */
+    public void writeZip(List<PurchaseOrderDto> pos, OutputStream out) throws IOException {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletionService<Invoice> completion = new ExecutorCompletionService<>(executor);
+        // Only unwritten invoices are referenced, so written PDFs can be collected
+        Set<Future<Invoice>> pending = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        Iterator<PurchaseOrderDto> next = pos.iterator();
+        String outcome = "failure";
+
+        // Not try-with-resources: close() writes the central directory, which
+        // would turn a partial archive into a valid-looking one
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+
+            while (pending.size() < inFlight && next.hasNext()) {
+                pending.add(submit(completion, next.next()));
+            }
+
+            while (!pending.isEmpty()) {
+                Future<Invoice> done = completion.take();
+                pending.remove(done);
+                Invoice invoice = done.get();
+                if (next.hasNext()) {
+                    pending.add(submit(completion, next.next()));
+                }
+
+                zip.putNextEntry(new ZipEntry(entryName(invoice.poNumber, names)));
+                zip.write(invoice.pdf);
+                zip.closeEntry();
+            }
+
+            zip.finish();
+            zip.flush();
+            outcome = "success";
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Invoice archive interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Invoice generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            for (Future<Invoice> future : pending) {
+                future.cancel(true);
+            }
+            sample.stop(meterRegistry.timer("invoices.zip", "outcome", outcome));
+        }
+    }
+
+    private Future<Invoice> submit(CompletionService<Invoice> completion, PurchaseOrderDto po) {
+        return completion.submit(() -> new Invoice(po.getPoNumber(), poService.getInvoicePdf(po)));
+    }
+
+    // PO numbers are unique in practice; a clash must not break the archive
+    private String entryName(String poNumber, Set<String> names) {
+        String name = "Invoice_" + poNumber + ".pdf";
+        for (int i = 2; !names.add(name); i++) {
+            name = "Invoice_" + poNumber + "_" + i + ".pdf";
+        }
+        return name;
+    }
+
+    private static final class Invoice {
+        private final String poNumber;
+        private final byte[] pdf;
+
+        private Invoice(String poNumber, byte[] pdf) {
+            this.poNumber = poNumber;
+            this.pdf = pdf;
+        }
+    }
+}
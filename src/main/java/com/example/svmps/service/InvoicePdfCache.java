@@ -0,0 +1,92 @@
+package com.example.svmps.service;
+
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.svmps.dto.PurchaseOrderDto;
+import com.example.svmps.util.SpillingByteCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Generated invoice PDFs, keyed by PO id and the delivery state printed on
+ * the invoice, including its date ({@code po:{id}:{version}}).
+ *
+ * A delivery or close produces a new version and therefore a new key; the
+ * service also drops the PO's older entries right away so they do not wait
+ * for the LRU to push them out.
+ */
+@Component
+public class InvoicePdfCache {
+
+    private final MeterRegistry meterRegistry;
+
+    private SpillingByteCache cache;
+
+    @Value("${app.invoices.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.invoices.cache.memory-bytes:8388608}")
+    private long memoryBytes;
+
+    @Value("${app.invoices.cache.disk-bytes:67108864}")
+    private long diskBytes;
+
+    @Value("${app.invoices.cache.directory:${java.io.tmpdir}/svmps-invoice-cache}")
+    private String directory;
+
+    public InvoicePdfCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            cache = new SpillingByteCache("invoices", memoryBytes, diskBytes,
+                    Paths.get(directory), meterRegistry);
+        }
+    }
+
+    /**
+     * Cached invoice for the PO in its current state, rendered on a miss.
+     */
+    public byte[] get(PurchaseOrderDto po, Supplier<byte[]> renderer) {
+        if (cache == null) {
+            return renderer.get();
+        }
+
+        String key = key(po);
+        byte[] pdf = cache.get(key);
+        if (pdf == null) {
+            pdf = renderer.get();
+            cache.put(key, pdf);
+        }
+        return pdf;
+    }
+
+    public void invalidate(Long poId) {
+        if (cache != null) {
+            cache.invalidatePrefix(prefix(poId));
+        }
+    }
+
+    // Everything on the invoice that changes over the PO's lifetime
+    private String key(PurchaseOrderDto po) {
+        return prefix(po.getId())
+                + po.getStatus()
+                + "/" + po.getDeliveredQuantity()
+                + "/" + po.getTotalQuantity()
+                + "/" + po.getBaseAmount()
+                + "/" + po.getTotalGstAmount()
+                + "/" + po.getTotalAmount()
+                + "/" + po.getUpdatedAt();
+    }
+
+    private String prefix(Long poId) {
+        return "po:" + poId + ":";
+    }
+}
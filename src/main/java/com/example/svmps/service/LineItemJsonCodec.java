@@ -0,0 +1,222 @@
+package com.example.svmps.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reads and writes the PR line-item JSON columns (items_json,
+ * quantity_json, item_amount_json).
+ *
+ * Readers and writers are built once for the concrete types, so a read
+ * produces Strings, ints and exact BigDecimals instead of the
+ * LinkedHashMap/Integer/Double values of {@code readValue(json, List.class)}.
+ * Decoded rows are kept in a small LRU keyed by PR id. An entry is only
+ * used while the three JSON strings it was decoded from are equal to the
+ * ones being read, so an edit is never served stale, however close to the
+ * previous one it lands.
+ */
+@Component
+public class LineItemJsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ObjectReader ITEMS_READER = MAPPER.readerFor(new TypeReference<List<String>>() { });
+    private static final ObjectReader QUANTITIES_READER = MAPPER.readerFor(int[].class);
+    private static final ObjectReader AMOUNTS_READER = MAPPER.readerFor(new TypeReference<List<BigDecimal>>() { });
+
+    private static final ObjectWriter ITEMS_WRITER = MAPPER.writerFor(new TypeReference<List<String>>() { });
+    private static final ObjectWriter QUANTITIES_WRITER = MAPPER.writerFor(new TypeReference<List<Integer>>() { });
+    private static final ObjectWriter AMOUNTS_WRITER = MAPPER.writerFor(new TypeReference<List<BigDecimal>>() { });
+
+    private Map<Long, Entry> cache;
+
+    // Decoded PRs kept in memory; 0 disables the cache
+    @Value("${app.line-items.json-cache-size:2000}")
+    private int cacheSize;
+
+    @PostConstruct
+    public void init() {
+        if (cacheSize > 0) {
+            cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+    }
+
+    // ================= READ =================
+
+    /**
+     * Decodes the three columns of one PR. Malformed JSON throws
+     * IllegalArgumentException and is not cached.
+     */
+    public Decoded decode(Long prId, String itemsJson, String quantityJson, String itemAmountJson) {
+
+        if (cache == null || prId == null) {
+            return decode(itemsJson, quantityJson, itemAmountJson);
+        }
+
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(prId);
+        }
+        if (entry != null && entry.matches(itemsJson, quantityJson, itemAmountJson)) {
+            return entry.decoded;
+        }
+
+        Decoded decoded = decode(itemsJson, quantityJson, itemAmountJson);
+        synchronized (cache) {
+            cache.put(prId, new Entry(itemsJson, quantityJson, itemAmountJson, decoded));
+        }
+        return decoded;
+    }
+
+    public Decoded decode(String itemsJson, String quantityJson, String itemAmountJson) {
+        int[] quantities = readQuantities(quantityJson);
+        return new Decoded(
+                read(ITEMS_READER, itemsJson),
+                quantities != null ? boxed(quantities) : null,
+                read(AMOUNTS_READER, itemAmountJson),
+                quantities != null ? sum(quantities) : 0);
+    }
+
+    /**
+     * Sum of a quantity_json array without boxing; 0 when it is missing.
+     */
+    public int totalQuantity(String quantityJson) {
+        int[] quantities = readQuantities(quantityJson);
+        return quantities != null ? sum(quantities) : 0;
+    }
+
+    private int[] readQuantities(String json) {
+        return read(QUANTITIES_READER, json);
+    }
+
+    private <T> T read(ObjectReader reader, String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid line item JSON", e);
+        }
+    }
+
+    // ================= WRITE =================
+    public String writeItems(List<String> items) {
+        return write(ITEMS_WRITER, items);
+    }
+
+    public String writeQuantities(List<Integer> quantities) {
+        return write(QUANTITIES_WRITER, quantities);
+    }
+
+    public String writeAmounts(List<BigDecimal> amounts) {
+        return write(AMOUNTS_WRITER, amounts);
+    }
+
+    private String write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON conversion error", e);
+        }
+    }
+
+    private static List<Integer> boxed(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * A cached decode together with the JSON it came from. Comparing the
+     * strings is far cheaper than parsing them again.
+     */
+    private static final class Entry {
+
+        private final String itemsJson;
+        private final String quantityJson;
+        private final String itemAmountJson;
+        private final Decoded decoded;
+
+        private Entry(String itemsJson, String quantityJson, String itemAmountJson, Decoded decoded) {
+            this.itemsJson = itemsJson;
+            this.quantityJson = quantityJson;
+            this.itemAmountJson = itemAmountJson;
+            this.decoded = decoded;
+        }
+
+        private boolean matches(String items, String quantities, String amounts) {
+            return Objects.equals(itemsJson, items)
+                    && Objects.equals(quantityJson, quantities)
+                    && Objects.equals(itemAmountJson, amounts);
+        }
+    }
+
+    /**
+     * One PR's decoded columns. Shared between callers through the cache,
+     * so the lists are read-only.
+     */
+    public static final class Decoded {
+
+        private final List<String> items;
+        private final List<Integer> quantities;
+        private final List<BigDecimal> itemAmounts;
+        private final int totalQuantity;
+
+        private Decoded(List<String> items, List<Integer> quantities,
+                List<BigDecimal> itemAmounts, int totalQuantity) {
+            this.items = items != null ? Collections.unmodifiableList(items) : null;
+            this.quantities = quantities;
+            this.itemAmounts = itemAmounts != null ? Collections.unmodifiableList(itemAmounts) : null;
+            this.totalQuantity = totalQuantity;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+
+        public List<Integer> getQuantities() {
+            return quantities;
+        }
+
+        public List<BigDecimal> getItemAmounts() {
+            return itemAmounts;
+        }
+
+        public int getTotalQuantity() {
+            return totalQuantity;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.svmps.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Picks the engine and output for the pr/po/vendor list reports.
+ *
+ * Shared by the synchronous download endpoints and the report job workers,
+ * so both produce the same bytes for the same request.
+ */
+@Service
+public class ListReportRenderer {
+
+    private static final List<String> FORMATS = List.of("pdf", "xlsx", "csv", "ndjson");
+
+    private final ReportService reportService;
+    private final TabularReportService tabularReportService;
+
+    // Engine used for xlsx when the request does not choose one: tabular | jasper
+    @Value("${app.reports.xlsx-engine:tabular}")
+    private String defaultXlsxEngine;
+
+    public ListReportRenderer(
+            ReportService reportService,
+            TabularReportService tabularReportService) {
+
+        this.reportService = reportService;
+        this.tabularReportService = tabularReportService;
+    }
+
+    // csv/ndjson are always tabular; xlsx depends on the selected engine
+    public boolean isTabular(String format, String engine) {
+        String extension = extension(format);
+        if ("csv".equals(extension) || "ndjson".equals(extension)) {
+            return true;
+        }
+        String selected = engine != null ? engine : defaultXlsxEngine;
+        return "xlsx".equals(extension) && "tabular".equalsIgnoreCase(selected);
+    }
+
+    // Unknown formats fall back to pdf, as they always have
+    public String extension(String format) {
+        for (String known : FORMATS) {
+            if (known.equalsIgnoreCase(format)) {
+                return known;
+            }
+        }
+        return "pdf";
+    }
+
+    /**
+     * Output variant used in cache and job keys, e.g. {@code xlsx-tabular}.
+     */
+    public String variant(String format, String engine) {
+        return extension(format) + (isTabular(format, engine) ? "-tabular" : "-jasper");
+    }
+
+    public String contentType(String extension) {
+        return switch (extension) {
+            case "xlsx" -> "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            case "csv" -> "text/csv; charset=UTF-8";
+            case "ndjson" -> "application/x-ndjson";
+            default -> "application/pdf";
+        };
+    }
+
+    /**
+     * Renderer for the report. Tabular output streams rows from the database
+     * while writing; the Jasper engine needs the full list of report rows,
+     * which is loaded here so a bad request fails before any output is written.
+     */
+    public ReportOutputCache.Renderer renderer(String reportName, String format, String engine) {
+        String extension = extension(format);
+
+        if (isTabular(format, engine)) {
+            return switch (extension) {
+                case "csv" -> out -> tabularReportService.writeCsv(reportName, out);
+                case "ndjson" -> out -> tabularReportService.writeNdjson(reportName, out);
+                default -> out -> tabularReportService.writeXlsx(reportName, out);
+            };
+        }
+
+        List<?> data = tabularReportService.loadRows(reportName);
+        return "xlsx".equals(extension)
+                ? out -> reportService.writeExcel(reportName, data, out)
+                : out -> reportService.writePdf(reportName, data, out);
+    }
+}
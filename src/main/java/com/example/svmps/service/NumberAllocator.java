@@ -0,0 +1,148 @@
+package com.example.svmps.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out document numbers such as {@code PR-2026-000123}.
+ *
+ * Each node reserves a block of values from {@code number_sequences} with a
+ * single atomic upsert and then serves them from memory with an atomic
+ * increment, so numbers are unique across nodes without a lock per number.
+ * Values of a block that is not used up (e.g. on restart) are skipped:
+ * numbers are unique and increasing per node, not gapless.
+ */
+@Component
+public class NumberAllocator {
+
+    // Reserves [next_value, next_value + block) and leaves the new next_value in LAST_INSERT_ID()
+    private static final String RESERVE_SQL = """
+            INSERT INTO number_sequences (name, next_value) VALUES (?, LAST_INSERT_ID(1 + ?))
+            ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    // Values reserved per round trip to the database
+    @Value("${app.numbers.block-size:50}")
+    private int blockSize;
+
+    public NumberAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        // The reservation commits on its own, so the sequence row is never
+        // locked for the rest of the caller's transaction
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Next number for the prefix in the current year, e.g. {@code PR-2026-000123}.
+     */
+    public String next(String prefix) {
+        int year = LocalDate.now().getYear();
+        long value = nextValue(prefix + "-" + year);
+        return format(prefix, year, value);
+    }
+
+    /**
+     * {@code count} numbers for the prefix, increasing. What the current block
+     * cannot cover is reserved in a single round trip, not one per block.
+     */
+    public List<String> next(String prefix, int count) {
+        int year = LocalDate.now().getYear();
+        String sequence = prefix + "-" + year;
+        List<String> numbers = new ArrayList<>(count);
+
+        Block block = blocks.get(sequence);
+        while (block != null && numbers.size() < count) {
+            long value = block.next.getAndIncrement();
+            if (value >= block.end) {
+                break;
+            }
+            numbers.add(format(prefix, year, value));
+        }
+
+        if (numbers.size() < count) {
+            Block rest = reserve(sequence, count - numbers.size());
+            for (long value = rest.next.get(); value < rest.end; value++) {
+                numbers.add(format(prefix, year, value));
+            }
+        }
+        return numbers;
+    }
+
+    private static String format(String prefix, int year, long value) {
+        return String.format("%s-%d-%06d", prefix, year, value);
+    }
+
+    long nextValue(String sequence) {
+        while (true) {
+            Block block = blocks.get(sequence);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+
+            // Block missing or used up: one thread reserves the next one
+            refillLock.lock();
+            try {
+                if (blocks.get(sequence) == block) {
+                    blocks.put(sequence, reserve(sequence, blockSize));
+                }
+            } finally {
+                refillLock.unlock();
+            }
+        }
+    }
+
+    private Block reserve(String sequence, int size) {
+        long end = newTransaction.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            // LAST_INSERT_ID() is per connection, so it is read on the same one
+            try (PreparedStatement ps = con.prepareStatement(RESERVE_SQL)) {
+                ps.setString(1, sequence);
+                ps.setLong(2, size);
+                ps.setLong(3, size);
+                ps.executeUpdate();
+            }
+            try (Statement st = con.createStatement();
+                    ResultSet rs = st.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }));
+        return new Block(end - size, end);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -5,19 +5,31 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.svmps.dto.PoBatchRequest;
+import com.example.svmps.dto.PoBatchResult;
+import com.example.svmps.dto.PrOrderSource;
+import com.example.svmps.dto.PrVendorRow;
 import com.example.svmps.dto.PurchaseOrderDto;
 import com.example.svmps.entity.PurchaseOrder;
 import com.example.svmps.entity.PurchaseRequisition;
+import com.example.svmps.repository.LineItemJdbcRepository;
+import com.example.svmps.repository.PurchaseOrderJdbcRepository;
 import com.example.svmps.repository.PurchaseOrderRepository;
 import com.example.svmps.repository.PurchaseRequisitionRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import com.itextpdf.text.pdf.draw.LineSeparator;
@@ -26,16 +38,42 @@ import com.itextpdf.text.pdf.draw.LineSeparator;
 public class PurchaseOrderService {
 
     private final PurchaseOrderRepository poRepo;
+    private final PurchaseOrderJdbcRepository poJdbcRepo;
     private final PurchaseRequisitionRepository prRepo;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InvoicePdfCache invoiceCache;
+    private final NumberAllocator numberAllocator;
+    private final LineItemJdbcRepository lineItemRepository;
+    private final LineItemJsonCodec lineItemJsonCodec;
+
+    // Invoice fonts and fixed layout, resolved once instead of per document / cell
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
+    private static final Font NORMAL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font BOLD_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font CELL_BOLD_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD);
+    private static final Font GRAND_TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private static final float[] ITEM_WIDTHS = { 4, 2, 2, 2 };
+    private static final DateTimeFormatter INVOICE_DATE = DateTimeFormatter.ofPattern("dd MMM yyyy hh:mm a");
+
+    private static final int VENDOR_LOOKUP_CHUNK = 1000;
 
     public PurchaseOrderService(PurchaseOrderRepository poRepo,
-            PurchaseRequisitionRepository prRepo) {
+            PurchaseOrderJdbcRepository poJdbcRepo,
+            PurchaseRequisitionRepository prRepo,
+            InvoicePdfCache invoiceCache,
+            NumberAllocator numberAllocator,
+            LineItemJdbcRepository lineItemRepository,
+            LineItemJsonCodec lineItemJsonCodec) {
         this.poRepo = poRepo;
+        this.poJdbcRepo = poJdbcRepo;
         this.prRepo = prRepo;
+        this.invoiceCache = invoiceCache;
+        this.numberAllocator = numberAllocator;
+        this.lineItemRepository = lineItemRepository;
+        this.lineItemJsonCodec = lineItemJsonCodec;
     }
 
     // ================= CREATE PO =================
+    @Transactional
     public PurchaseOrderDto createPo(Long prId,
             BigDecimal cgstPercent,
             BigDecimal sgstPercent,
@@ -48,25 +86,97 @@ public class PurchaseOrderService {
             throw new RuntimeException("PR is not APPROVED");
         }
 
+        PurchaseOrder po = buildPo(numberAllocator.next("PO"), prId, pr.getTotalAmount(), pr.getItemsJson(), pr.getQuantityJson(),
+                pr.getTotalQuantity(), cgstPercent, sgstPercent, igstPercent);
+
+        PurchaseOrder saved = poRepo.save(po);
+        lineItemRepository.copyPrLinesToPos(List.of(saved.getId()));
+        return toDto(saved);
+    }
+
+    // ================= CREATE POs (BATCH) =================
+    // All PRs are read in one query and all POs written in one JDBC batch.
+    // PRs that cannot be ordered are reported per item; the rest are created.
+    @Transactional
+    public List<PoBatchResult> createPos(PoBatchRequest request) {
+
+        Map<Long, PrOrderSource> prs = new HashMap<>();
+        for (PrOrderSource pr : prRepo.findOrderSourcesByIds(new HashSet<>(request.getPrIds()))) {
+            prs.put(pr.getId(), pr);
+        }
+
+        List<PoBatchResult> results = new ArrayList<>(request.getPrIds().size());
+        List<PrOrderSource> toOrder = new ArrayList<>();
+        List<Integer> insertedAt = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (Long prId : request.getPrIds()) {
+            PrOrderSource pr = prs.get(prId);
+            if (!seen.add(prId)) {
+                results.add(PoBatchResult.failed(prId, "Duplicate PR in request"));
+            } else if (pr == null) {
+                results.add(PoBatchResult.failed(prId, "PR not found"));
+            } else if (!"APPROVED".equals(pr.getStatus())) {
+                results.add(PoBatchResult.failed(prId, "PR is not APPROVED"));
+            } else {
+                insertedAt.add(results.size());
+                results.add(null);
+                toOrder.add(pr);
+            }
+        }
+
+        // All PO numbers come from one reservation
+        List<String> poNumbers = numberAllocator.next("PO", toOrder.size());
+        List<PurchaseOrder> toInsert = new ArrayList<>(toOrder.size());
+        for (int i = 0; i < toOrder.size(); i++) {
+            PrOrderSource pr = toOrder.get(i);
+            toInsert.add(buildPo(poNumbers.get(i), pr.getId(), pr.getTotalAmount(), pr.getItemsJson(),
+                    pr.getQuantityJson(), pr.getTotalQuantity(),
+                    request.getCgstPercent(), request.getSgstPercent(), request.getIgstPercent()));
+        }
+
+        poJdbcRepo.insertAll(toInsert);
+
+        List<Long> poIds = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < toInsert.size(); i++) {
+            PurchaseOrder po = toInsert.get(i);
+            poIds.add(po.getId());
+            results.set(insertedAt.get(i), PoBatchResult.created(po.getPrId(), po.getId(), po.getPoNumber()));
+        }
+        lineItemRepository.copyPrLinesToPos(poIds);
+        return results;
+    }
+
+    private PurchaseOrder buildPo(String poNumber,
+            Long prId,
+            BigDecimal baseAmount,
+            String itemsJson,
+            String quantityJson,
+            Integer prTotalQuantity,
+            BigDecimal cgstPercent,
+            BigDecimal sgstPercent,
+            BigDecimal igstPercent) {
+
         PurchaseOrder po = new PurchaseOrder();
-        po.setPoNumber("PO-" + System.currentTimeMillis());
+        po.setPoNumber(poNumber);
         po.setPrId(prId);
-        po.setBaseAmount(pr.getTotalAmount());
-        po.setItemsJson(pr.getItemsJson());
-        po.setQuantityJson(pr.getQuantityJson());
+        po.setBaseAmount(baseAmount);
+        po.setItemsJson(itemsJson);
+        po.setQuantityJson(quantityJson);
 
-        int totalQty = extractTotalQuantity(pr.getQuantityJson());
+        // PRs written before pr_line_items have no aggregate yet
+        int totalQty = prTotalQuantity != null ? prTotalQuantity : extractTotalQuantity(quantityJson);
         po.setTotalQuantity(totalQty);
 
         po.setCgstPercent(cgstPercent);
         po.setSgstPercent(sgstPercent);
         po.setIgstPercent(igstPercent);
 
-        BigDecimal cgstAmount = pr.getTotalAmount()
+        BigDecimal cgstAmount = baseAmount
                 .multiply(cgstPercent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal sgstAmount = pr.getTotalAmount()
+        BigDecimal sgstAmount = baseAmount
                 .multiply(sgstPercent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal igstAmount = pr.getTotalAmount()
+        BigDecimal igstAmount = baseAmount
                 .multiply(igstPercent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
 
         po.setCgstAmount(cgstAmount);
@@ -75,34 +185,34 @@ public class PurchaseOrderService {
 
         BigDecimal totalGst = cgstAmount.add(sgstAmount).add(igstAmount);
         po.setTotalGstAmount(totalGst);
-        po.setTotalAmount(pr.getTotalAmount().add(totalGst));
+        po.setTotalAmount(baseAmount.add(totalGst));
 
         po.setDeliveredQuantity(0);
         po.setStatus("CREATED");
-
-        return toDto(poRepo.save(po));
+        return po;
     }
 
     // ================= DELIVERY =================
+    // Concurrent deliveries to one PO are serialized by the conditional UPDATE,
+    // not by a read-modify-write in Java, so none is lost or over-delivered
+    @Transactional
     public PurchaseOrderDto updateDelivery(Long poId, Integer deliveredQty) {
 
+        if (deliveredQty == null || deliveredQty <= 0) {
+            throw new RuntimeException("Delivered quantity must be positive");
+        }
+
+        int updated = poRepo.addDelivery(poId, deliveredQty, LocalDateTime.now());
+
         PurchaseOrder po = poRepo.findById(poId)
                 .orElseThrow(() -> new RuntimeException("PO not found"));
 
-        int totalDelivered = po.getDeliveredQuantity() + deliveredQty;
-
-        if (totalDelivered > po.getTotalQuantity()) {
+        if (updated == 0) {
             throw new RuntimeException("Delivered quantity exceeds ordered quantity");
         }
 
-        po.setDeliveredQuantity(totalDelivered);
-
-        po.setStatus(
-                totalDelivered == po.getTotalQuantity()
-                        ? "DELIVERED"
-                        : "PARTIAL_DELIVERED");
-
-        return toDto(poRepo.save(po));
+        invoiceCache.invalidate(poId);
+        return toDto(po);
     }
 
     // ================= CLOSE PO =================
@@ -116,7 +226,9 @@ public class PurchaseOrderService {
         }
 
         po.setStatus("CLOSED");
-        return toDto(poRepo.save(po));
+        PurchaseOrder saved = poRepo.save(po);
+        invoiceCache.invalidate(poId);
+        return toDto(saved);
     }
 
     // ================= FETCH =================
@@ -130,26 +242,38 @@ public class PurchaseOrderService {
     // ADMIN, PROCUREMENT, FINANCE
     public List<PurchaseOrderDto> getPosByPrId(Long prId) {
 
-        return poRepo.findAll()
-                .stream()
-                .filter(po -> po.getPrId() != null && po.getPrId().equals(prId))
-                .map(this::toDto)
-                .toList();
+        return toDtos(poRepo.findByPrId(prId));
     }
 
     public List<PurchaseOrderDto> getAllPos() {
-        return poRepo.findAll().stream().map(this::toDto).toList();
+        return toDtos(poRepo.findAll());
     }
 
     public Page<PurchaseOrderDto> getAllPosWithPagination(Pageable pageable) {
-        return poRepo.findAll(pageable).map(this::toDto);
+        Page<PurchaseOrder> page = poRepo.findAll(pageable);
+        Map<Long, PrVendorRow> vendors = findVendors(page.getContent());
+        return page.map(po -> toDto(po, vendors.get(po.getPrId())));
     }
 
     public List<PurchaseOrderDto> getPosByVendorId(Long vendorId) {
-        return poRepo.findByVendorId(vendorId).stream().map(this::toDto).toList();
+        return toDtos(poRepo.findByVendorId(vendorId));
+    }
+
+    // Invoices do not print vendor details, so the per-PO vendor lookup is skipped
+    public List<PurchaseOrderDto> getInvoicePos(Long vendorId, String status) {
+        return poRepo.findByVendorIdAndStatus(vendorId, status).stream().map(this::toBaseDto).toList();
     }
 
     // ================= PDF GENERATION =================
+
+    /**
+     * Invoice for the PO in its current state; rendered once per delivery
+     * state and served from the invoice cache afterwards.
+     */
+    public byte[] getInvoicePdf(PurchaseOrderDto po) {
+        return invoiceCache.get(po, () -> generateInvoicePdf(po));
+    }
+
     public byte[] generateInvoicePdf(PurchaseOrderDto po) {
 
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -158,17 +282,12 @@ public class PurchaseOrderService {
             PdfWriter.getInstance(document, out);
             document.open();
 
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
-            Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-            Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
-
-            Paragraph title = new Paragraph("DELIVERY INVOICE", titleFont);
+            Paragraph title = new Paragraph("DELIVERY INVOICE", TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
             document.add(title);
 
             document.add(new Paragraph(
-                    "Supplier & Vendor Procurement Management System", normalFont));
+                    "Supplier & Vendor Procurement Management System", NORMAL_FONT));
             document.add(Chunk.NEWLINE);
 
             LineSeparator line = new LineSeparator();
@@ -179,14 +298,16 @@ public class PurchaseOrderService {
             PdfPTable info = new PdfPTable(2);
             info.setWidthPercentage(100);
 
-            addInfoCell(info, "PO Number", po.getPoNumber(), boldFont);
-            addInfoCell(info, "Status", po.getStatus(), boldFont);
-            addInfoCell(info, "Total Quantity", po.getTotalQuantity().toString(), normalFont);
-            addInfoCell(info, "Delivered Quantity", po.getDeliveredQuantity().toString(), normalFont);
-            addInfoCell(info, "Remaining Quantity", po.getRemainingQuantity().toString(), normalFont);
+            addInfoCell(info, "PO Number", po.getPoNumber(), BOLD_FONT);
+            addInfoCell(info, "Status", po.getStatus(), BOLD_FONT);
+            addInfoCell(info, "Total Quantity", po.getTotalQuantity().toString(), NORMAL_FONT);
+            addInfoCell(info, "Delivered Quantity", po.getDeliveredQuantity().toString(), NORMAL_FONT);
+            addInfoCell(info, "Remaining Quantity", po.getRemainingQuantity().toString(), NORMAL_FONT);
+            // The PO's last delivery or close, not the time of rendering, so
+            // every render of one delivery state is the same document
             addInfoCell(info, "Invoice Date",
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd MMM yyyy hh:mm a")),
-                    normalFont);
+                    po.getUpdatedAt() != null ? po.getUpdatedAt().format(INVOICE_DATE) : "-",
+                    NORMAL_FONT);
 
             document.add(info);
             document.add(Chunk.NEWLINE);
@@ -197,7 +318,7 @@ public class PurchaseOrderService {
 
             PdfPTable items = new PdfPTable(4);
             items.setWidthPercentage(100);
-            items.setWidths(new float[] { 4, 2, 2, 2 });
+            items.setWidths(ITEM_WIDTHS);
 
             addHeader(items, "Description");
             addHeader(items, "Qty");
@@ -228,7 +349,7 @@ public class PurchaseOrderService {
 
             Paragraph total = new Paragraph(
                     "GRAND TOTAL : " + po.getTotalAmount(),
-                    FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14));
+                    GRAND_TOTAL_FONT);
             total.setAlignment(Element.ALIGN_RIGHT);
             document.add(total);
 
@@ -236,7 +357,7 @@ public class PurchaseOrderService {
 
             Paragraph footer = new Paragraph(
                     "This is a system generated invoice.\nNo signature required.",
-                    normalFont);
+                    NORMAL_FONT);
             footer.setAlignment(Element.ALIGN_CENTER);
             document.add(footer);
 
@@ -256,7 +377,7 @@ public class PurchaseOrderService {
     }
 
     private void addHeader(PdfPTable table, String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, FontFactory.getFont(FontFactory.HELVETICA_BOLD)));
+        PdfPCell cell = new PdfPCell(new Phrase(text, CELL_BOLD_FONT));
         cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
         cell.setHorizontalAlignment(Element.ALIGN_CENTER);
         cell.setPadding(6);
@@ -269,20 +390,59 @@ public class PurchaseOrderService {
     }
 
     private void addBoldRow(PdfPTable table, String label, BigDecimal value) {
-        table.addCell(new Phrase(label, FontFactory.getFont(FontFactory.HELVETICA_BOLD)));
-        table.addCell(new Phrase(value.toString(), FontFactory.getFont(FontFactory.HELVETICA_BOLD)));
+        table.addCell(new Phrase(label, CELL_BOLD_FONT));
+        table.addCell(new Phrase(value.toString(), CELL_BOLD_FONT));
     }
 
     private int extractTotalQuantity(String quantityJson) {
         try {
-            List<Integer> list = objectMapper.readValue(quantityJson, List.class);
-            return list.stream().mapToInt(Integer::intValue).sum();
-        } catch (Exception e) {
+            return lineItemJsonCodec.totalQuantity(quantityJson);
+        } catch (IllegalArgumentException e) {
             return 0;
         }
     }
 
     private PurchaseOrderDto toDto(PurchaseOrder po) {
+        return toDtos(List.of(po)).get(0);
+    }
+
+    // Vendor info for all POs comes from one batched PR lookup, not one query per PO
+    private List<PurchaseOrderDto> toDtos(List<PurchaseOrder> pos) {
+        Map<Long, PrVendorRow> vendors = findVendors(pos);
+        return pos.stream().map(po -> toDto(po, vendors.get(po.getPrId()))).toList();
+    }
+
+    private PurchaseOrderDto toDto(PurchaseOrder po, PrVendorRow vendor) {
+        PurchaseOrderDto dto = toBaseDto(po);
+
+        // 🔥 Sync Vendor Info from PR
+        if (vendor != null) {
+            dto.setVendorName(vendor.getVendorName());
+            dto.setVendorIsActive(vendor.getVendorIsActive());
+        }
+
+        return dto;
+    }
+
+    // prId -> vendor, in chunks so a full listing does not build one huge IN list
+    private Map<Long, PrVendorRow> findVendors(List<PurchaseOrder> pos) {
+        List<Long> prIds = pos.stream()
+                .map(PurchaseOrder::getPrId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, PrVendorRow> vendors = new HashMap<>();
+        for (int from = 0; from < prIds.size(); from += VENDOR_LOOKUP_CHUNK) {
+            List<Long> chunk = prIds.subList(from, Math.min(from + VENDOR_LOOKUP_CHUNK, prIds.size()));
+            for (PrVendorRow row : prRepo.findVendorRowsByPrIds(chunk)) {
+                vendors.put(row.getPrId(), row);
+            }
+        }
+        return vendors;
+    }
+
+    private PurchaseOrderDto toBaseDto(PurchaseOrder po) {
         PurchaseOrderDto dto = new PurchaseOrderDto();
 
         dto.setId(po.getId());
@@ -300,18 +460,11 @@ public class PurchaseOrderService {
         dto.setTotalAmount(po.getTotalAmount());
         dto.setTotalQuantity(po.getTotalQuantity());
         dto.setDeliveredQuantity(po.getDeliveredQuantity());
+        dto.setUpdatedAt(po.getUpdatedAt());
 
         int remaining = po.getTotalQuantity() - po.getDeliveredQuantity();
         dto.setRemainingQuantity(remaining);
 
-        // 🔥 Sync Vendor Info from PR
-        prRepo.findById(po.getPrId()).ifPresent(pr -> {
-            if (pr.getVendor() != null) {
-                dto.setVendorName(pr.getVendor().getName());
-                dto.setVendorIsActive(pr.getVendor().getIsActive());
-            }
-        });
-
         return dto;
     }
 }
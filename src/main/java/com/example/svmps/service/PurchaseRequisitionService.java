@@ -1,23 +1,47 @@
 package com.example.svmps.service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import com.example.svmps.entity.*;
 import org.springframework.data.aot.PublicMethodReflectiveProcessor;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.svmps.dto.EmailMessage;
+import com.example.svmps.dto.LineItem;
+import com.example.svmps.dto.PrBulkDecisionRequest;
+import com.example.svmps.dto.PrDecisionResult;
+import com.example.svmps.dto.PrDecisionRow;
+import com.example.svmps.dto.PrSearchPage;
 import com.example.svmps.dto.PurchaseRequisitionDto;
+import com.example.svmps.repository.ApprovalHistoryJdbcRepository;
 import com.example.svmps.repository.ApprovalHistoryRepository;
+import com.example.svmps.repository.LineItemJdbcRepository;
 import com.example.svmps.repository.PurchaseOrderRepository;
+import com.example.svmps.repository.PurchaseRequisitionJdbcRepository;
 import com.example.svmps.repository.PurchaseRequisitionRepository;
 import com.example.svmps.repository.UserRepository;
 import com.example.svmps.repository.VendorRepository;
+import com.example.svmps.specification.PurchaseRequisitionSpecification;
 import com.example.svmps.util.PrStatus;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class PurchaseRequisitionService {
@@ -25,32 +49,48 @@ public class PurchaseRequisitionService {
     // max PR limit set to 500,000
     private static final BigDecimal MAX_PR_LIMIT = new BigDecimal("500000");
 
+    private static final int MAX_SEARCH_PAGE = 100;
+    private static final Sort SEARCH_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final PurchaseRequisitionRepository prRepository;
+    private final PurchaseRequisitionJdbcRepository prJdbcRepository;
     private final VendorRepository vendorRepository;
     private final UserRepository userRepository;
     private final PurchaseOrderRepository poRepository;
     private final ApprovalHistoryRepository approvalHistoryRepository;
+    private final ApprovalHistoryJdbcRepository approvalHistoryJdbcRepository;
     private final EmailService emailService;
     private final EmailTemplateService templateService;
-
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final NumberAllocator numberAllocator;
+    private final LineItemJdbcRepository lineItemRepository;
+    private final LineItemJsonCodec lineItemJsonCodec;
 
     public PurchaseRequisitionService(
             PurchaseRequisitionRepository prRepository,
+            PurchaseRequisitionJdbcRepository prJdbcRepository,
             VendorRepository vendorRepository,
             UserRepository userRepository,
             PurchaseOrderRepository poRepository,
             ApprovalHistoryRepository approvalHistoryRepository,
+            ApprovalHistoryJdbcRepository approvalHistoryJdbcRepository,
             EmailService emailService,
-            EmailTemplateService templateService) {
+            EmailTemplateService templateService,
+            NumberAllocator numberAllocator,
+            LineItemJdbcRepository lineItemRepository,
+            LineItemJsonCodec lineItemJsonCodec) {
 
         this.prRepository = prRepository;
+        this.prJdbcRepository = prJdbcRepository;
         this.vendorRepository = vendorRepository;
         this.userRepository = userRepository;
         this.poRepository = poRepository;
         this.approvalHistoryRepository = approvalHistoryRepository;
+        this.approvalHistoryJdbcRepository = approvalHistoryJdbcRepository;
         this.emailService = emailService;
         this.templateService = templateService;
+        this.numberAllocator = numberAllocator;
+        this.lineItemRepository = lineItemRepository;
+        this.lineItemJsonCodec = lineItemJsonCodec;
     }
 
     public PurchaseRequisition submitPR(PurchaseRequisition pr) {
@@ -72,10 +112,11 @@ public class PurchaseRequisitionService {
 
     // ================= PR NUMBER =================
     private String generatePrNumber() {
-        return "PR-" + System.currentTimeMillis();
+        return numberAllocator.next("PR");
     }
 
     // ================= UPDATE PR =================
+    @Transactional
     public PurchaseRequisitionDto updatePr(Long id, PurchaseRequisitionDto dto) {
 
         PurchaseRequisition pr = getPr(id);
@@ -92,23 +133,22 @@ public class PurchaseRequisitionService {
         pr.setTotalAmount(total);
         saveJsonItems(pr, dto);
 
-        return toDto(prRepository.save(pr));
+        List<LineItem> lines = toLines(dto);
+        setLineAggregates(pr, lines);
+        PurchaseRequisition saved = prRepository.save(pr);
+        lineItemRepository.replacePrLines(saved.getId(), lines);
+
+        return toDto(saved, lines);
     }
 
     // ================= SUBMIT =================
+    @Transactional
     public PurchaseRequisitionDto submitPr(Long id) {
 
-        PurchaseRequisition pr = getPr(id);
-
-        if (!PrStatus.DRAFT.equals(pr.getStatus()) && !PrStatus.PENDING.equals(pr.getStatus())) {
-            throw new RuntimeException("Only DRAFT or PENDING can submit");
-        }
-
-        pr.setStatus(PrStatus.SUBMITTED);
-        PurchaseRequisition saved = prRepository.save(pr);
+        PurchaseRequisition saved = transition(id, PrStatus.SUBMITTED, "Only DRAFT or PENDING can submit");
 
         if (saved.getRequesterEmail() != null) {
-            emailService.send(
+            sendAfterCommit(
                     saved.getRequesterEmail(), // To
                     "PR Submitted: " + saved.getPrNumber(),
                     templateService.prSubmitted(saved));
@@ -118,22 +158,16 @@ public class PurchaseRequisitionService {
     }
 
     // ================= APPROVE =================
+    @Transactional
     public PurchaseRequisitionDto approvePr(
             Long id, String comments, Long approverId) {
 
-        PurchaseRequisition pr = getPr(id);
-
-        if (!PrStatus.SUBMITTED.equals(pr.getStatus())) {
-            throw new RuntimeException("Only SUBMITTED can approve");
-        }
-
-        pr.setStatus(PrStatus.APPROVED);
-        prRepository.save(pr);
+        PurchaseRequisition pr = transition(id, PrStatus.APPROVED, "Only SUBMITTED can approve");
 
         saveHistory(pr, approverId, "APPROVED", comments);
 
         if (pr.getRequesterEmail() != null) {
-            emailService.send(
+            sendAfterCommit(
                     pr.getRequesterEmail(), // To
                     "PR Approved: " + pr.getPrNumber(),
                     templateService.prApproved(pr));
@@ -143,22 +177,16 @@ public class PurchaseRequisitionService {
     }
 
     // ================= REJECT =================
+    @Transactional
     public PurchaseRequisitionDto rejectPr(
             Long id, String comments, Long approverId) {
 
-        PurchaseRequisition pr = getPr(id);
-
-        if (!PrStatus.SUBMITTED.equals(pr.getStatus())) {
-            throw new RuntimeException("Only SUBMITTED can reject");
-        }
-
-        pr.setStatus(PrStatus.REJECTED);
-        prRepository.save(pr);
+        PurchaseRequisition pr = transition(id, PrStatus.REJECTED, "Only SUBMITTED can reject");
 
         saveHistory(pr, approverId, "REJECTED", comments);
 
         if (pr.getRequesterEmail() != null) {
-            emailService.send(
+            sendAfterCommit(
                     pr.getRequesterEmail(), // To
                     "PR Rejected: " + pr.getPrNumber(),
                     templateService.prRejected(pr, comments));
@@ -167,6 +195,139 @@ public class PurchaseRequisitionService {
         return toDto(pr);
     }
 
+    // ================= BULK DECISION =================
+    /**
+     * Approves/rejects many SUBMITTED PRs with a fixed number of statements:
+     * one read, one conditional UPDATE and one re-read per action, one
+     * history batch. No row is locked before its UPDATE; items that cannot
+     * be decided, or that another decision moved first, are reported and do
+     * not affect the others.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public List<PrDecisionResult> decideAll(PrBulkDecisionRequest request, boolean canReject) {
+
+        List<PrBulkDecisionRequest.Decision> decisions = request.getDecisions();
+        Set<Long> ids = new HashSet<>();
+        for (PrBulkDecisionRequest.Decision decision : decisions) {
+            ids.add(decision.getId());
+        }
+
+        Map<Long, PrDecisionRow> rows = new HashMap<>();
+        for (PrDecisionRow row : prJdbcRepository.findForDecision(ids)) {
+            rows.put(row.getId(), row);
+        }
+
+        PrDecisionResult[] results = new PrDecisionResult[decisions.size()];
+        Map<String, List<Integer>> byStatus = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < decisions.size(); i++) {
+            PrBulkDecisionRequest.Decision decision = decisions.get(i);
+            Long id = decision.getId();
+            PrDecisionRow row = rows.get(id);
+            boolean reject = "REJECT".equals(decision.getAction());
+
+            if (!seen.add(id)) {
+                results[i] = PrDecisionResult.failed(id, "Duplicate PR in request");
+            } else if (row == null) {
+                results[i] = PrDecisionResult.failed(id, "PR not found");
+            } else if (!PrStatus.SUBMITTED.equals(row.getStatus())) {
+                results[i] = PrDecisionResult.failed(id, "Only SUBMITTED can " + (reject ? "reject" : "approve"));
+            } else if (reject && !canReject) {
+                results[i] = PrDecisionResult.failed(id, "Only ADMIN can reject");
+            } else {
+                byStatus.computeIfAbsent(reject ? PrStatus.REJECTED : PrStatus.APPROVED, s -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ApprovalHistory> history = new ArrayList<>();
+        List<EmailMessage> emails = new ArrayList<>();
+
+        for (Map.Entry<String, List<Integer>> group : byStatus.entrySet()) {
+            String status = group.getKey();
+            List<Long> groupIds = group.getValue().stream().map(i -> decisions.get(i).getId()).toList();
+
+            // Only PRs still in SUBMITTED move. The re-read runs on the snapshot
+            // taken by the first read (REPEATABLE READ): it sees this UPDATE
+            // but not a decision another transaction committed since, so it
+            // returns exactly the PRs this call moved.
+            prRepository.updateStatus(groupIds, PrStatus.SUBMITTED, status, now);
+            Set<Long> moved = prJdbcRepository.findIdsInStatus(groupIds, status);
+
+            for (int i : group.getValue()) {
+                PrBulkDecisionRequest.Decision decision = decisions.get(i);
+                PrDecisionRow row = rows.get(decision.getId());
+                if (!moved.contains(row.getId())) {
+                    results[i] = PrDecisionResult.failed(row.getId(), "PR was decided by another request");
+                    continue;
+                }
+
+                ApprovalHistory h = new ApprovalHistory();
+                h.setPrId(row.getId());
+                h.setApproverId(request.getApproverId());
+                h.setAction(status);
+                h.setComments(decision.getComments());
+                history.add(h);
+
+                if (row.getRequesterEmail() != null) {
+                    emails.add(decisionEmail(row, status, decision.getComments()));
+                }
+                results[i] = PrDecisionResult.decided(row.getId(), status);
+            }
+        }
+
+        approvalHistoryJdbcRepository.insertAll(history);
+
+        if (!emails.isEmpty()) {
+            afterCommit(() -> emailService.sendAll(emails));
+        }
+
+        return List.of(results);
+    }
+
+    // ================= EMAIL =================
+    /**
+     * Mails about a PR go out only once its transaction has committed: the
+     * sends are @Async, and sent from inside the transaction they could
+     * announce a decision that is later rolled back. The body is rendered
+     * now, while the entity is still attached.
+     */
+    private void sendAfterCommit(String to, String subject, String body) {
+        afterCommit(() -> emailService.send(to, subject, body));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private EmailMessage decisionEmail(PrDecisionRow row, String status, String comments) {
+        // The templates only print these fields
+        PurchaseRequisition pr = new PurchaseRequisition();
+        pr.setPrNumber(row.getPrNumber());
+        pr.setTotalAmount(row.getTotalAmount());
+        pr.setStatus(status);
+
+        if (PrStatus.REJECTED.equals(status)) {
+            return new EmailMessage(row.getRequesterEmail(),
+                    "PR Rejected: " + row.getPrNumber(),
+                    templateService.prRejected(pr, comments));
+        }
+        return new EmailMessage(row.getRequesterEmail(),
+                "PR Approved: " + row.getPrNumber(),
+                templateService.prApproved(pr));
+    }
+
     // ================= GET BY ID =================
     public PurchaseRequisitionDto getPrById(Long id) {
         return toDto(getPr(id));
@@ -174,20 +335,91 @@ public class PurchaseRequisitionService {
 
     // ================= GET ALL =================
     public List<PurchaseRequisitionDto> getAllPrs() {
-        return prRepository.findAll()
-                .stream()
-                .map(this::toDto)
-                .toList();
+        return toDtos(prRepository.findAll());
     }
 
     // ================= GET ALL WITH PAGINATION =================
     public Page<PurchaseRequisitionDto> getAllPrsWithPagination(Pageable pageable) {
-        return prRepository.findAll(pageable)
-                .map(this::toDto);
+        Page<PurchaseRequisition> page = prRepository.findAll(pageable);
+        Map<Long, List<LineItem>> lines = findLines(page.getContent());
+        return page.map(pr -> toDto(pr, lines.get(pr.getId())));
+    }
+
+    // ================= SEARCH =================
+    /**
+     * Filtered PRs, newest first, paged by keyset on (createdAt, id): the
+     * cursor is the last row of the previous page, so every page is an index
+     * seek plus {@code size} rows and no count query is run.
+     */
+    public PrSearchPage searchPrs(
+            String status, Long vendorId, String requesterEmail,
+            BigDecimal minAmount, BigDecimal maxAmount,
+            LocalDateTime createdFrom, LocalDateTime createdTo,
+            String cursor, int size) {
+
+        if (size < 1 || size > MAX_SEARCH_PAGE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SEARCH_PAGE);
+        }
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", 2);
+                afterCreatedAt = LocalDateTime.parse(position[0]);
+                afterId = Long.valueOf(position[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        Specification<PurchaseRequisition> spec = Specification
+                .where(PurchaseRequisitionSpecification.hasStatus(status))
+                .and(PurchaseRequisitionSpecification.hasVendor(vendorId))
+                .and(PurchaseRequisitionSpecification.hasRequesterEmail(requesterEmail))
+                .and(PurchaseRequisitionSpecification.amountAtLeast(minAmount))
+                .and(PurchaseRequisitionSpecification.amountAtMost(maxAmount))
+                .and(PurchaseRequisitionSpecification.createdFrom(createdFrom))
+                .and(PurchaseRequisitionSpecification.createdBefore(createdTo))
+                .and(PurchaseRequisitionSpecification.after(afterCreatedAt, afterId))
+                .and(PurchaseRequisitionSpecification.fetchVendor());
+
+        // One row more than the page tells whether there is a next page
+        List<PurchaseRequisition> rows = prRepository.findBy(spec,
+                q -> q.sortBy(SEARCH_ORDER).limit(size + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeCursor(rows.get(size - 1));
+        }
+        return new PrSearchPage(toDtos(rows), nextCursor);
+    }
+
+    // Opaque to clients: base64url of "createdAt|id"
+    private String encodeCursor(PurchaseRequisition last) {
+        String position = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
     // ================= HELPERS =================
 
+    /**
+     * Moves the PR into {@code to} with one conditional UPDATE instead of a
+     * read-check-save, so of two concurrent callers exactly one wins; the
+     * other gets {@code error}. Returns the PR as updated.
+     */
+    private PurchaseRequisition transition(Long id, String to, String error) {
+        int updated = prRepository.transitionStatus(id, PrStatus.sourcesOf(to), to, LocalDateTime.now());
+        PurchaseRequisition pr = getPr(id);
+        if (updated == 0) {
+            throw new RuntimeException(error);
+        }
+        return pr;
+    }
+
     private PurchaseRequisition getPr(Long id) {
         return prRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("PR not found"));
@@ -216,14 +448,34 @@ public class PurchaseRequisitionService {
         }
     }
 
+    // Still written next to pr_line_items so older app versions can read new PRs
     private void saveJsonItems(PurchaseRequisition pr, PurchaseRequisitionDto dto) {
-        try {
-            pr.setItemsJson(mapper.writeValueAsString(dto.getItems()));
-            pr.setQuantityJson(mapper.writeValueAsString(dto.getQuantities()));
-            pr.setItemAmountJson(mapper.writeValueAsString(dto.getItemAmounts()));
-        } catch (Exception e) {
-            throw new RuntimeException("JSON conversion error");
+        pr.setItemsJson(lineItemJsonCodec.writeItems(dto.getItems()));
+        pr.setQuantityJson(lineItemJsonCodec.writeQuantities(dto.getQuantities()));
+        pr.setItemAmountJson(lineItemJsonCodec.writeAmounts(dto.getItemAmounts()));
+    }
+
+    private List<LineItem> toLines(PurchaseRequisitionDto dto) {
+        List<LineItem> lines = new ArrayList<>(dto.getItems().size());
+        for (int i = 0; i < dto.getItems().size(); i++) {
+            lines.add(new LineItem(i + 1,
+                    dto.getItems().get(i),
+                    dto.getQuantities().get(i),
+                    dto.getItemAmounts().get(i)));
+        }
+        return lines;
+    }
+
+    private void setLineAggregates(PurchaseRequisition pr, List<LineItem> lines) {
+        pr.setLineCount(lines.size());
+        pr.setTotalQuantity(lines.stream().mapToInt(LineItem::getQuantity).sum());
+    }
+
+    private Map<Long, List<LineItem>> findLines(List<PurchaseRequisition> prs) {
+        if (prs.isEmpty()) {
+            return Map.of();
         }
+        return lineItemRepository.findPrLines(prs.stream().map(PurchaseRequisition::getId).toList());
     }
 
     private void saveHistory(
@@ -242,6 +494,7 @@ public class PurchaseRequisitionService {
     }
 
     // FIXED createPr - Replace your existing one
+    @Transactional
     public PurchaseRequisitionDto createPr(PurchaseRequisitionDto dto) {
 
         validateItems(dto);
@@ -265,19 +518,32 @@ public class PurchaseRequisitionService {
 
         saveJsonItems(pr, dto);
 
+        List<LineItem> lines = toLines(dto);
+        setLineAggregates(pr, lines);
         PurchaseRequisition saved = prRepository.save(pr);
+        lineItemRepository.replacePrLines(saved.getId(), lines);
 
-        // NEW: Send email immediately
-        emailService.send(
+        // Sent once the PR is committed
+        sendAfterCommit(
                 saved.getRequesterEmail(), // To
                 "PR Created: " + saved.getPrNumber(),
                 templateService.prCreated(saved));
 
-        return toDto(saved);
+        return toDto(saved, lines);
     }
 
-    // FIXED toDto - Replace your existing one
     private PurchaseRequisitionDto toDto(PurchaseRequisition pr) {
+        return toDto(pr, findLines(List.of(pr)).get(pr.getId()));
+    }
+
+    // Lines of all PRs come from one query instead of JSON parsing per row
+    private List<PurchaseRequisitionDto> toDtos(List<PurchaseRequisition> prs) {
+        Map<Long, List<LineItem>> lines = findLines(prs);
+        return prs.stream().map(pr -> toDto(pr, lines.get(pr.getId()))).toList();
+    }
+
+    // FIXED toDto - Replace your existing one
+    private PurchaseRequisitionDto toDto(PurchaseRequisition pr, List<LineItem> lines) {
 
         PurchaseRequisitionDto dto = new PurchaseRequisitionDto();
         dto.setId(pr.getId());
@@ -289,11 +555,21 @@ public class PurchaseRequisitionService {
         dto.setVendorName(pr.getVendor().getName());
         dto.setVendorIsActive(pr.getVendor().getIsActive());
 
+        if (lines != null) {
+            dto.setItems(lines.stream().map(LineItem::getItemName).toList());
+            dto.setQuantities(lines.stream().map(LineItem::getQuantity).toList());
+            dto.setItemAmounts(lines.stream().map(LineItem::getUnitAmount).toList());
+            return dto;
+        }
+
+        // PRs written before pr_line_items (or by an older app version)
         try {
-            dto.setItems(mapper.readValue(pr.getItemsJson(), List.class));
-            dto.setQuantities(mapper.readValue(pr.getQuantityJson(), List.class));
-            dto.setItemAmounts(mapper.readValue(pr.getItemAmountJson(), List.class));
-        } catch (Exception e) {
+            LineItemJsonCodec.Decoded decoded = lineItemJsonCodec.decode(pr.getId(),
+                    pr.getItemsJson(), pr.getQuantityJson(), pr.getItemAmountJson());
+            dto.setItems(decoded.getItems());
+            dto.setQuantities(decoded.getQuantities());
+            dto.setItemAmounts(decoded.getItemAmounts());
+        } catch (IllegalArgumentException e) {
         }
 
         return dto;
@@ -0,0 +1,151 @@
+package com.example.svmps.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Local, content-addressed store for rendered reports.
+ *
+ * Files are named by the SHA-256 of their content, so storing the same bytes
+ * twice keeps a single copy and a reference (the hash) always points at
+ * exactly what was rendered. Files not written or re-stored within the
+ * retention period are deleted by {@link #purgeExpired()}.
+ */
+@Component
+public class ReportArtifactStore {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reports.artifacts.directory:${java.io.tmpdir}/svmps-report-artifacts}")
+    private String directory;
+
+    @Value("${app.reports.artifacts.retention-days:14}")
+    private int retentionDays;
+
+    public ReportArtifactStore(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(Paths.get(directory));
+    }
+
+    // ================= WRITE =================
+    public String put(byte[] content) throws IOException {
+        return write(out -> out.write(content));
+    }
+
+    /**
+     * Streams the renderer's output into the store and returns its hash.
+     */
+    public String write(ReportOutputCache.Renderer renderer) throws IOException {
+        Path partial = Files.createTempFile(Paths.get(directory), "artifact-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(partial)), digest)) {
+                renderer.render(out);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+            if (Files.exists(target)) {
+                // Same content again: keep one copy, restart its retention
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                Files.delete(partial);
+            } else {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return hash;
+
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    // ================= READ =================
+    public Path path(String hash) {
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid artifact reference: " + hash);
+        }
+        return Paths.get(directory, hash + ".bin");
+    }
+
+    public boolean exists(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    /**
+     * Content of the artifact, or null when it has expired.
+     */
+    public byte[] read(String hash) throws IOException {
+        try {
+            return Files.readAllBytes(path(hash));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    // ================= RETENTION =================
+    @Scheduled(cron = "${app.reports.artifacts.cleanup-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+
+        List<Path> expired;
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            expired = files.filter(f -> isOlderThan(f, cutoff)).toList();
+        } catch (IOException e) {
+            System.err.println("Report artifact cleanup failed: " + e.getMessage());
+            return;
+        }
+
+        for (Path file : expired) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete report artifact " + file + ": " + e.getMessage());
+            }
+        }
+        meterRegistry.counter("reports.artifacts.purged").increment(expired.size());
+        System.out.println("Report artifact cleanup removed " + expired.size() + " file(s)");
+    }
+
+    private boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+}
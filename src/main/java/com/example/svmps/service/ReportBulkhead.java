@@ -0,0 +1,193 @@
+package com.example.svmps.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.example.svmps.exception.ReportCapacityException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Limits how many reports render at once, across the download endpoints,
+ * report jobs and the scheduled reports.
+ *
+ * A render is admitted when a render slot is free and its estimated heap use
+ * fits in the memory budget. Requests wait in a bounded queue for at most
+ * {@code max-wait-ms}; a full queue is rejected immediately (429) and a
+ * timed-out wait with 503. Background work (jobs, scheduled runs) waits as
+ * long as it takes instead, and is queued separately so it never uses up
+ * the request queue.
+ */
+@Component
+public class ReportBulkhead {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private int active;
+    private int waiting;           // request threads
+    private int backgroundWaiting; // jobs and scheduled runs
+    private long reservedBytes;
+
+    @Value("${app.reports.bulkhead.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${app.reports.bulkhead.max-queue:4}")
+    private int maxQueue;
+
+    @Value("${app.reports.bulkhead.max-wait-ms:10000}")
+    private long maxWaitMs;
+
+    // Heap all concurrent renders together may use
+    @Value("${app.reports.bulkhead.memory-budget-bytes:100663296}")
+    private long memoryBudgetBytes;
+
+    // Rough heap cost of one row in a Jasper fill (data bean plus print elements)
+    @Value("${app.reports.bulkhead.bytes-per-row:4096}")
+    private long bytesPerRow;
+
+    // Streaming (tabular) exports hold a fixed window of rows whatever the size
+    @Value("${app.reports.bulkhead.streaming-bytes:4194304}")
+    private long streamingBytes;
+
+    public ReportBulkhead(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("reports.bulkhead.active", this, b -> b.active);
+        meterRegistry.gauge("reports.bulkhead.queued", this, b -> b.waiting);
+        meterRegistry.gauge("reports.bulkhead.queued.background", this, b -> b.backgroundWaiting);
+        meterRegistry.gauge("reports.bulkhead.reserved.bytes", this, b -> b.reservedBytes);
+    }
+
+    public long estimate(long rows, boolean streaming) {
+        return streaming ? streamingBytes : Math.max(rows, 1) * bytesPerRow;
+    }
+
+    /**
+     * Admits a render for a request thread, or throws ReportCapacityException.
+     */
+    public Permit acquire(String reportName, long estimatedBytes) {
+        return acquire(reportName, estimatedBytes, false);
+    }
+
+    /**
+     * Admits background work; waits until capacity is available.
+     */
+    public Permit acquireBackground(String reportName, long estimatedBytes) {
+        return acquire(reportName, estimatedBytes, true);
+    }
+
+    private Permit acquire(String reportName, long estimatedBytes, boolean background) {
+
+        // A report bigger than the whole budget still runs, but on its own
+        long cost = Math.min(estimatedBytes, memoryBudgetBytes);
+        long start = System.nanoTime();
+        String outcome = "rejected";
+
+        lock.lock();
+        try {
+            if (!background && waiting >= maxQueue && !fits(cost)) {
+                reject(reportName, "queue_full");
+                throw new ReportCapacityException("Too many reports are being generated, please retry shortly",
+                        HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds());
+            }
+
+            if (background) {
+                backgroundWaiting++;
+            } else {
+                waiting++;
+            }
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (!fits(cost)) {
+                    if (background) {
+                        released.await();
+                    } else {
+                        if (remaining <= 0) {
+                            reject(reportName, "timeout");
+                            throw new ReportCapacityException("Report capacity is exhausted, please retry later",
+                                    HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds());
+                        }
+                        remaining = released.awaitNanos(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReportCapacityException("Interrupted while waiting for report capacity",
+                        HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds());
+            } finally {
+                if (background) {
+                    backgroundWaiting--;
+                } else {
+                    waiting--;
+                }
+            }
+
+            active++;
+            reservedBytes += cost;
+            outcome = "admitted";
+        } finally {
+            lock.unlock();
+            // Rejected and timed-out waits are recorded too, tagged by outcome
+            meterRegistry.timer("reports.bulkhead.wait", "report", reportName, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return new Permit(cost);
+    }
+
+    private boolean fits(long cost) {
+        return active < maxConcurrent && (active == 0 || reservedBytes + cost <= memoryBudgetBytes);
+    }
+
+    private void release(long cost) {
+        lock.lock();
+        try {
+            active--;
+            reservedBytes -= cost;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reject(String reportName, String reason) {
+        meterRegistry.counter("reports.bulkhead.rejected", "report", reportName, "reason", reason).increment();
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMs));
+    }
+
+    /**
+     * Admission for one render; close it when the render is finished.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long cost;
+        private boolean closed;
+
+        private Permit(long cost) {
+            this.cost = cost;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(cost);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.svmps.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.sf.jasperreports.engine.JRVirtualizable;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+
+/**
+ * Swap-file virtualizer for a single report fill.
+ *
+ * Keeps at most {@code maxPages} filled pages on the heap and writes the rest
+ * to a swap file in its own temp directory. {@link #cleanup()} removes the
+ * directory and records how many pages and bytes were spilled.
+ */
+class ReportFillVirtualizer extends JRSwapFileVirtualizer {
+
+    private final Path directory;
+    private final MeterRegistry meterRegistry;
+    private final String reportName;
+    private final AtomicLong pagesSpilled = new AtomicLong();
+
+    private boolean cleanedUp;
+
+    private ReportFillVirtualizer(int maxPages, Path directory, JRSwapFile swap,
+            MeterRegistry meterRegistry, String reportName) {
+        super(maxPages, swap, true);
+        this.directory = directory;
+        this.meterRegistry = meterRegistry;
+        this.reportName = reportName;
+    }
+
+    static ReportFillVirtualizer create(int maxPages, Path baseDirectory,
+            MeterRegistry meterRegistry, String reportName) throws IOException {
+
+        Files.createDirectories(baseDirectory);
+        Path directory = Files.createTempDirectory(baseDirectory, reportName + "-");
+        JRSwapFile swap = new JRSwapFile(directory.toString(), 4096, 100);
+        return new ReportFillVirtualizer(maxPages, directory, swap, meterRegistry, reportName);
+    }
+
+    @Override
+    protected void pageOut(JRVirtualizable o) throws IOException {
+        super.pageOut(o);
+        pagesSpilled.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void cleanup() {
+        if (cleanedUp) {
+            return;
+        }
+        cleanedUp = true;
+
+        long bytesWritten = directorySize();
+        try {
+            super.cleanup();
+        } finally {
+            deleteDirectory();
+            meterRegistry.counter("reports.virtualizer.pages.spilled", "report", reportName)
+                    .increment(pagesSpilled.get());
+            meterRegistry.counter("reports.virtualizer.bytes.written", "report", reportName)
+                    .increment(bytesWritten);
+        }
+    }
+
+    private long directorySize() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(f -> f.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteDirectory() {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete report swap directory " + directory + ": " + e.getMessage());
+        }
+    }
+}
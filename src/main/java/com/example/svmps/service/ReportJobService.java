@@ -0,0 +1,286 @@
+package com.example.svmps.service;
+
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.svmps.dto.ReportJobDto;
+import com.example.svmps.entity.ReportLog;
+import com.example.svmps.entity.ReportStatus;
+import com.example.svmps.entity.ReportType;
+import com.example.svmps.exception.ResourceNotFoundException;
+import com.example.svmps.repository.ReportLogRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Renders list reports in the background.
+ *
+ * A job is a ReportLog of type ON_DEMAND. Workers write the output into the
+ * ReportArtifactStore, which also expires it; the request thread only creates
+ * the log entry. Jobs with the same parameters and data version share one
+ * render while it is queued or running.
+ */
+@Service
+public class ReportJobService {
+
+    private final ReportLogRepository repo;
+    private final ListReportRenderer listReportRenderer;
+    private final ReportOutputCache reportOutputCache;
+    private final ReportArtifactStore artifactStore;
+    private final ReportBulkhead reportBulkhead;
+    private final MeterRegistry meterRegistry;
+
+    // paramsKey -> id of the job that is queued or rendering it
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @Value("${app.reports.jobs.workers:2}")
+    private int workers;
+
+    // Jobs waiting for a worker; submissions beyond this are rejected
+    @Value("${app.reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    // Names this instance on the jobs it queues; must differ between nodes and
+    // stay the same across a node's restarts. Defaults to the host name.
+    @Value("${app.reports.jobs.node-id:}")
+    private String nodeId;
+
+    // Unfinished jobs older than this are failed by whichever node starts next,
+    // for nodes that never come back under the same id
+    @Value("${app.reports.jobs.abandon-after-minutes:60}")
+    private long abandonAfterMinutes;
+
+    public ReportJobService(
+            ReportLogRepository repo,
+            ListReportRenderer listReportRenderer,
+            ReportOutputCache reportOutputCache,
+            ReportArtifactStore artifactStore,
+            ReportBulkhead reportBulkhead,
+            MeterRegistry meterRegistry) {
+
+        this.repo = repo;
+        this.listReportRenderer = listReportRenderer;
+        this.reportOutputCache = reportOutputCache;
+        this.artifactStore = artifactStore;
+        this.reportBulkhead = reportBulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        // A pool of its own rather than a TaskExecutor bean, so @Async work
+        // (emails, approval history) never queues behind report renders
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "report-job-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("reports.jobs.queued", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("reports.jobs.active", executor, ThreadPoolExecutor::getActiveCount);
+
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = hostName();
+        }
+
+        // Jobs this node had queued or running when it stopped will never finish.
+        // Other nodes' jobs are left alone: they may still be rendering them.
+        List<ReportLog> interrupted = repo.findInterrupted(
+                ReportType.ON_DEMAND,
+                List.of(ReportStatus.PENDING, ReportStatus.RUNNING),
+                nodeId,
+                LocalDateTime.now().minusMinutes(abandonAfterMinutes));
+        for (ReportLog log : interrupted) {
+            log.setStatus(ReportStatus.FAILED);
+            log.setErrorMessage("Interrupted by application restart");
+            log.setCompletedAt(LocalDateTime.now());
+        }
+        repo.saveAll(interrupted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            // Own jobs are then only recovered once abandoned
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    // ================= SUBMIT =================
+    public ReportJobDto submit(String reportName, String format, String engine) {
+
+        // The data version is part of the key, so a job submitted after a
+        // change never attaches to a render of the old data
+        String paramsKey = reportOutputCache.key(reportName, listReportRenderer.variant(format, engine));
+
+        synchronized (inFlight) {
+            Long existingId = inFlight.get(paramsKey);
+            if (existingId != null) {
+                ReportLog existing = repo.findById(existingId).orElse(null);
+                if (existing != null) {
+                    meterRegistry.counter("reports.jobs.deduplicated", "report", reportName).increment();
+                    return toDto(existing);
+                }
+            }
+
+            ReportLog log = new ReportLog();
+            log.setReportType(ReportType.ON_DEMAND);
+            log.setStatus(ReportStatus.PENDING);
+            log.setGeneratedAt(LocalDateTime.now());
+            log.setRetryCount(0);
+            log.setReportName(reportName);
+            log.setFormat(listReportRenderer.extension(format));
+            log.setParamsKey(paramsKey);
+            log.setNodeId(nodeId);
+            log = repo.save(log);
+
+            Long jobId = log.getId();
+            inFlight.put(paramsKey, jobId);
+            try {
+                executor.execute(() -> run(jobId, format, engine));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(paramsKey, jobId);
+                log.setStatus(ReportStatus.FAILED);
+                log.setErrorMessage("Report queue is full");
+                log.setCompletedAt(LocalDateTime.now());
+                repo.save(log);
+                meterRegistry.counter("reports.jobs.rejected", "report", reportName).increment();
+                throw e;
+            }
+            return toDto(log);
+        }
+    }
+
+    // ================= STATUS =================
+    public ReportJobDto getJob(Long id) {
+        return toDto(findJob(id));
+    }
+
+    /**
+     * Finished job with its artifact still on disk, or null when the job has
+     * not (successfully) completed yet.
+     */
+    public ReportLog getCompletedJob(Long id) {
+        ReportLog log = findJob(id);
+        if (log.getStatus() != ReportStatus.SUCCESS || log.getArtifactPath() == null) {
+            return null;
+        }
+        if (!Files.exists(Paths.get(log.getArtifactPath()))) {
+            throw new ResourceNotFoundException("Report file is no longer available, submit the job again");
+        }
+        return log;
+    }
+
+    public String contentType(ReportLog log) {
+        return listReportRenderer.contentType(log.getFormat());
+    }
+
+    // ================= WORKER =================
+    private void run(Long jobId, String format, String engine) {
+
+        ReportLog log = repo.findById(jobId).orElse(null);
+        if (log == null) {
+            return;
+        }
+        String reportName = log.getReportName();
+        String paramsKey = log.getParamsKey();
+
+        log.setStatus(ReportStatus.RUNNING);
+        log.setStartedAt(LocalDateTime.now());
+        repo.save(log);
+        meterRegistry.timer("reports.jobs.wait", "report", reportName)
+                .record(Duration.between(log.getGeneratedAt(), log.getStartedAt()));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            String hash = artifactStore.write(out -> {
+                InputStream cached = reportOutputCache.open(paramsKey);
+                if (cached != null) {
+                    try (InputStream in = cached) {
+                        in.transferTo(out);
+                    }
+                    return;
+                }
+
+                long rows = reportOutputCache.dataVersion(reportName).getRowCount();
+                long estimate = reportBulkhead.estimate(rows, listReportRenderer.isTabular(format, engine));
+                try (ReportBulkhead.Permit permit = reportBulkhead.acquireBackground(reportName, estimate)) {
+                    ReportOutputCache.Renderer renderer = listReportRenderer.renderer(reportName, format, engine);
+                    reportOutputCache.render(paramsKey, out, renderer);
+                }
+            });
+            Path artifact = artifactStore.path(hash);
+
+            log.setArtifactPath(artifact.toString());
+            log.setArtifactSize(Files.size(artifact));
+            log.setStatus(ReportStatus.SUCCESS);
+            log.setErrorMessage(null);
+
+        } catch (Exception e) {
+            outcome = "failure";
+            System.err.println("Report job " + jobId + " (" + reportName + ") failed: " + e.getMessage());
+            log.setStatus(ReportStatus.FAILED);
+            log.setErrorMessage(e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("reports.jobs.render", "report", reportName, "outcome", outcome));
+            log.setCompletedAt(LocalDateTime.now());
+            repo.save(log);
+            inFlight.remove(paramsKey, jobId);
+        }
+    }
+
+    private ReportLog findJob(Long id) {
+        return repo.findById(id)
+                .filter(log -> log.getReportType() == ReportType.ON_DEMAND)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found"));
+    }
+
+    private ReportJobDto toDto(ReportLog log) {
+        ReportJobDto dto = new ReportJobDto();
+        dto.setId(log.getId());
+        dto.setReportName(log.getReportName());
+        dto.setFormat(log.getFormat());
+        dto.setStatus(log.getStatus().name());
+        dto.setRequestedAt(log.getGeneratedAt());
+        dto.setStartedAt(log.getStartedAt());
+        dto.setCompletedAt(log.getCompletedAt());
+        dto.setArtifactSize(log.getArtifactSize());
+        dto.setErrorMessage(log.getErrorMessage());
+        return dto;
+    }
+}
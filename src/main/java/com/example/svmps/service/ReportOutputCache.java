@@ -0,0 +1,129 @@
+package com.example.svmps.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.svmps.dto.DataVersion;
+import com.example.svmps.repository.DataVersionJdbcRepository;
+import com.example.svmps.util.SpillingByteCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache of rendered list reports, keyed by report, output variant and the
+ * version of the underlying data.
+ *
+ * The version is one query over the tables' write counters (plus the row
+ * count), so the key and its ETag are known before anything is rendered. A
+ * data change produces a new key; old entries simply age out of the LRU.
+ */
+@Component
+public class ReportOutputCache {
+
+    private final DataVersionJdbcRepository dataVersionRepo;
+    private final MeterRegistry meterRegistry;
+
+    private SpillingByteCache cache;
+
+    @Value("${app.reports.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.cache.memory-bytes:16777216}")
+    private long memoryBytes;
+
+    @Value("${app.reports.cache.disk-bytes:268435456}")
+    private long diskBytes;
+
+    @Value("${app.reports.cache.directory:${java.io.tmpdir}/svmps-report-cache}")
+    private String directory;
+
+    public ReportOutputCache(
+            DataVersionJdbcRepository dataVersionRepo,
+            MeterRegistry meterRegistry) {
+
+        this.dataVersionRepo = dataVersionRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            cache = new SpillingByteCache("reports", memoryBytes, diskBytes,
+                    Paths.get(directory), meterRegistry);
+        }
+    }
+
+    /**
+     * Cache key for the current data, e.g. {@code pr:xlsx-tabular:v5821/1234}.
+     */
+    public String key(String reportName, String variant) {
+        return key(reportName, variant, dataVersion(reportName));
+    }
+
+    public String key(String reportName, String variant, DataVersion version) {
+        return reportName + ":" + variant + ":" + version;
+    }
+
+    public String etag(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached output for the key, or null when it has to be rendered.
+     */
+    public InputStream open(String key) {
+        return cache != null ? cache.open(key) : null;
+    }
+
+    /**
+     * Renders into {@code out} and keeps a copy under the key. Output of a
+     * render that fails part way is discarded.
+     */
+    public void render(String key, OutputStream out, Renderer renderer) throws IOException {
+        if (cache == null) {
+            renderer.render(out);
+            return;
+        }
+
+        SpillingByteCache.Capture capture = cache.capture(key, out);
+        try {
+            renderer.render(capture);
+            capture.flush();
+            capture.commit();
+        } finally {
+            capture.discard();
+        }
+    }
+
+    public DataVersion dataVersion(String reportName) {
+        return switch (reportName) {
+            case "pr" -> dataVersionRepo.find(List.of("purchase_requisitions"));
+            case "po" -> dataVersionRepo.find(List.of("purchase_orders"));
+            // Vendor rows also print the linked user's name and email
+            case "vendor" -> dataVersionRepo.find(List.of("vendors", "users"));
+            default -> throw new IllegalArgumentException("Unknown report: " + reportName);
+        };
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+}
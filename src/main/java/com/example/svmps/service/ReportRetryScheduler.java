@@ -2,6 +2,7 @@ package com.example.svmps.service;
 
 import com.example.svmps.entity.ReportLog;
 import com.example.svmps.entity.ReportStatus;
+import com.example.svmps.entity.ReportType;
 import com.example.svmps.repository.ReportLogRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -25,8 +26,9 @@ public class ReportRetryScheduler {
     @Scheduled(fixedDelay = 3600000) // Retry every 1 hour
     public void retryFailedReports() {
 
-        List<ReportLog> failed = repo.findByStatusAndRetryCountLessThanOrderByGeneratedAtDesc(
-                ReportStatus.FAILED, 3, PageRequest.of(0, 3));
+        // On-demand jobs are not retried; the client simply submits again
+        List<ReportLog> failed = repo.findByStatusAndReportTypeInAndRetryCountLessThanOrderByGeneratedAtDesc(
+                ReportStatus.FAILED, List.of(ReportType.DAILY, ReportType.WEEKLY), 3, PageRequest.of(0, 3));
 
         for (ReportLog log : failed) {
             log.setRetryCount(log.getRetryCount() + 1);
@@ -1,13 +1,16 @@
 package com.example.svmps.service;
 
 import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
-import java.util.HashMap;
+import java.io.OutputStream;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
@@ -16,37 +19,57 @@ import net.sf.jasperreports.export.*;
 @Service
 public class ReportService {
 
-    private JasperPrint prepareReport(String reportName, List<?> data) {
+    private final ReportTemplateRegistry templates;
+    private final MeterRegistry meterRegistry;
 
-        try {
-            System.out.println("DEBUG: Preparing report: " + reportName);
-            InputStream jrxml = getClass().getResourceAsStream("/reports/" + reportName + ".jrxml");
-            if (jrxml == null) {
-                throw new RuntimeException("JRXML file not found: /reports/" + reportName + ".jrxml");
-            }
+    @Value("${app.reports.virtualizer.enabled:true}")
+    private boolean virtualizerEnabled;
 
-            System.out.println("DEBUG: Compiling report: " + reportName);
-            JasperReport report = JasperCompileManager.compileReport(jrxml);
+    // Filled pages kept on the heap before the rest is swapped to disk
+    @Value("${app.reports.virtualizer.max-pages:50}")
+    private int virtualizerMaxPages;
+
+    @Value("${app.reports.virtualizer.directory:${java.io.tmpdir}/svmps-report-swap}")
+    private String virtualizerDirectory;
+
+    public ReportService(ReportTemplateRegistry templates, MeterRegistry meterRegistry) {
+        this.templates = templates;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private FilledReport prepareReport(String reportName, List<?> data) {
+
+        ReportFillVirtualizer virtualizer = null;
+        try {
+            JasperReport report = templates.get(reportName);
 
             JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(data);
+            Map<String, Object> params = templates.newParameters(reportName);
+
+            if (virtualizerEnabled) {
+                virtualizer = ReportFillVirtualizer.create(
+                        virtualizerMaxPages, Paths.get(virtualizerDirectory), meterRegistry, reportName);
+                params.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+            }
 
-            Map<String, Object> params = new HashMap<>();
-            params.put("REPORT_TITLE", reportName.toUpperCase() + " REPORT");
-
-            // Handle logo safely
-            java.net.URL logoUrl = getClass().getResource("/static/logo.png");
-            if (logoUrl != null) {
-                System.out.println("DEBUG: Logo found at: " + logoUrl);
-                params.put("LOGO_PATH", logoUrl.toString());
-            } else {
-                System.out.println("DEBUG: Logo NOT found in classpath /static/logo.png");
-                params.put("LOGO_PATH", ""); // Empty string if not found
+            Timer.Sample sample = Timer.start(meterRegistry);
+            JasperPrint print;
+            try {
+                print = JasperFillManager.fillReport(report, params, dataSource);
+            } finally {
+                sample.stop(meterRegistry.timer("reports.fill", "report", reportName));
             }
 
-            System.out.println("DEBUG: Filling report: " + reportName);
-            return JasperFillManager.fillReport(report, params, dataSource);
+            if (virtualizer != null) {
+                // Pages are only read from here on; lets the exporter swap them back in
+                virtualizer.setReadOnly(true);
+            }
+            return new FilledReport(print, virtualizer);
 
         } catch (Exception e) {
+            if (virtualizer != null) {
+                virtualizer.cleanup();
+            }
             System.err.println("CRITICAL: Report rendering failed for " + reportName + ". Error: " + e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Report generation failed: " + e.getMessage(), e);
@@ -55,9 +78,18 @@ public class ReportService {
 
     // ================= PDF =================
     public byte[] exportPdf(String reportName, List<?> data) {
-        try {
-            JasperPrint print = prepareReport(reportName, data);
-            return JasperExportManager.exportReportToPdf(print);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writePdf(reportName, data, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Fills the report and writes the PDF straight to the given stream, so
+     * the exported document is never held in memory as a whole.
+     */
+    public void writePdf(String reportName, List<?> data, OutputStream out) {
+        try (FilledReport filled = prepareReport(reportName, data)) {
+            JasperExportManager.exportReportToPdfStream(filled.print, out);
         } catch (Exception e) {
             throw new RuntimeException("PDF export failed", e);
         }
@@ -65,13 +97,16 @@ public class ReportService {
 
     // ================= EXCEL =================
     public byte[] exportExcel(String reportName, List<?> data) {
-        try {
-            JasperPrint print = prepareReport(reportName, data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeExcel(reportName, data, out);
+        return out.toByteArray();
+    }
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
+    public void writeExcel(String reportName, List<?> data, OutputStream out) {
+        try (FilledReport filled = prepareReport(reportName, data)) {
 
             JRXlsxExporter exporter = new JRXlsxExporter();
-            exporter.setExporterInput(new SimpleExporterInput(print));
+            exporter.setExporterInput(new SimpleExporterInput(filled.print));
             exporter.setExporterOutput(
                     new SimpleOutputStreamExporterOutput(out));
 
@@ -83,10 +118,30 @@ public class ReportService {
             exporter.setConfiguration(config);
             exporter.exportReport();
 
-            return out.toByteArray();
-
         } catch (Exception e) {
             throw new RuntimeException("Excel export failed", e);
         }
     }
+
+    /**
+     * Filled report plus the virtualizer holding its swapped pages. Closing it
+     * after the export deletes the swap files.
+     */
+    private static final class FilledReport implements AutoCloseable {
+
+        private final JasperPrint print;
+        private final ReportFillVirtualizer virtualizer;
+
+        private FilledReport(JasperPrint print, ReportFillVirtualizer virtualizer) {
+            this.print = print;
+            this.virtualizer = virtualizer;
+        }
+
+        @Override
+        public void close() {
+            if (virtualizer != null) {
+                virtualizer.cleanup();
+            }
+        }
+    }
 }
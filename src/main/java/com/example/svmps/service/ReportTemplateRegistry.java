@@ -0,0 +1,173 @@
+package com.example.svmps.service;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+
+/**
+ * Holds the compiled Jasper templates, keyed by report name.
+ *
+ * Templates are loaded from the {@code .jasper} files produced by the Maven
+ * build and only compiled from {@code .jrxml} when no precompiled file is on
+ * the classpath. With hot reload enabled (dev profile) the source file is
+ * checked on every lookup and recompiled when it changes.
+ */
+@Component
+public class ReportTemplateRegistry {
+
+    static final List<String> REPORT_NAMES = List.of("pr", "po", "vendor");
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private Map<String, Object> baseParameters;
+
+    @Value("${app.reports.templates.hot-reload:false}")
+    private boolean hotReload;
+
+    // Directory with the editable .jrxml files, only used with hot reload
+    @Value("${app.reports.templates.source-dir:}")
+    private String sourceDir;
+
+    public ReportTemplateRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        Map<String, Object> params = new HashMap<>();
+        URL logoUrl = getClass().getResource("/static/logo.png");
+        if (logoUrl != null) {
+            params.put("LOGO_PATH", logoUrl.toString());
+        } else {
+            System.out.println("Report logo not found in classpath /static/logo.png");
+            params.put("LOGO_PATH", "");
+        }
+        baseParameters = Collections.unmodifiableMap(params);
+
+        for (String name : REPORT_NAMES) {
+            templates.put(name, load(name));
+        }
+    }
+
+    public JasperReport get(String reportName) {
+        Template template = templates.get(reportName);
+        if (template == null) {
+            template = templates.computeIfAbsent(reportName, this::load);
+        } else if (hotReload) {
+            long modified = sourceLastModified(reportName);
+            if (modified > template.lastModified) {
+                System.out.println("Reloading report template: " + reportName);
+                template = compile(reportName);
+                templates.put(reportName, template);
+            }
+        }
+        return template.report;
+    }
+
+    /**
+     * Fresh, mutable parameter map for one fill. Jasper adds its own entries
+     * to the map it is given, so the shared base map is never handed out.
+     */
+    public Map<String, Object> newParameters(String reportName) {
+        Map<String, Object> params = new HashMap<>(baseParameters);
+        params.put("REPORT_TITLE", reportName.toUpperCase() + " REPORT");
+        return params;
+    }
+
+    // ================= LOADING =================
+
+    private Template load(String reportName) {
+        if (!hotReload) {
+            try (InputStream compiled = getClass()
+                    .getResourceAsStream("/reports/" + reportName + ".jasper")) {
+                if (compiled != null) {
+                    return new Template((JasperReport) JRLoader.loadObject(compiled), 0L);
+                }
+            } catch (Exception e) {
+                System.err.println("Precompiled template " + reportName
+                        + ".jasper could not be loaded, compiling from source: " + e.getMessage());
+            }
+        }
+        return compile(reportName);
+    }
+
+    private Template compile(String reportName) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long modified = sourceLastModified(reportName);
+
+        try (InputStream jrxml = openSource(reportName)) {
+            if (jrxml == null) {
+                throw new RuntimeException("JRXML file not found: /reports/" + reportName + ".jrxml");
+            }
+            return new Template(JasperCompileManager.compileReport(jrxml), modified);
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Report compilation failed for " + reportName + ": " + e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("reports.template.compile", "report", reportName));
+        }
+    }
+
+    private InputStream openSource(String reportName) throws Exception {
+        Path source = sourcePath(reportName);
+        if (source != null) {
+            return Files.newInputStream(source);
+        }
+        return getClass().getResourceAsStream("/reports/" + reportName + ".jrxml");
+    }
+
+    private long sourceLastModified(String reportName) {
+        Path source = sourcePath(reportName);
+        if (source != null) {
+            return source.toFile().lastModified();
+        }
+        URL url = getClass().getResource("/reports/" + reportName + ".jrxml");
+        if (url != null && "file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI()).lastModified();
+            } catch (Exception e) {
+                return 0L;
+            }
+        }
+        return 0L;
+    }
+
+    private Path sourcePath(String reportName) {
+        if (!hotReload || sourceDir == null || sourceDir.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(sourceDir, reportName + ".jrxml");
+        return Files.exists(path) ? path : null;
+    }
+
+    private static final class Template {
+        private final JasperReport report;
+        private final long lastModified;
+
+        private Template(JasperReport report, long lastModified) {
+            this.report = report;
+            this.lastModified = lastModified;
+        }
+    }
+}
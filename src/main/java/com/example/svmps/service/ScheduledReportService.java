@@ -1,16 +1,28 @@
 package com.example.svmps.service;
 
 import com.example.svmps.entity.*;
-import com.example.svmps.repository.PurchaseRequisitionRepository;
 import com.example.svmps.repository.ReportLogRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Component
 public class ScheduledReportService {
@@ -18,24 +30,70 @@ public class ScheduledReportService {
     private final ReportService reportService;
     private final ReportLogRepository repo;
     private final EmailService emailService;
-    private final PurchaseRequisitionRepository prRepo;
-    private final VendorService vendorService;
+    private final TabularReportService tabularReportService;
+    private final ReportArtifactStore artifactStore;
+    private final ReportBulkhead reportBulkhead;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private ThreadPoolExecutor executor;
 
     @Value("${app.reports.email}")
     private String reportEmail;
 
+    // incremental: only rows changed since the last successful run of the
+    // same type; full: a snapshot of every row
+    @Value("${app.reports.scheduled.mode:incremental}")
+    private String mode;
+
+    // How far each incremental window reaches back before the previous one's
+    // end: covers updated_at rounding (second precision) and transactions that
+    // committed after the previous run read. Rows in the overlap can appear in
+    // two consecutive reports; within one report they are unique by id.
+    @Value("${app.reports.scheduled.window-overlap-seconds:60}")
+    private long windowOverlapSeconds;
+
+    // Threads for the load/render stages; two lets the PR and vendor chains run side by side
+    @Value("${app.reports.scheduled.workers:2}")
+    private int workers;
+
     public ScheduledReportService(
             ReportService reportService,
             ReportLogRepository repo,
             EmailService emailService,
-            PurchaseRequisitionRepository prRepo,
-            VendorService vendorService) {
+            TabularReportService tabularReportService,
+            ReportArtifactStore artifactStore,
+            ReportBulkhead reportBulkhead,
+            MeterRegistry meterRegistry) {
 
         this.reportService = reportService;
         this.repo = repo;
         this.emailService = emailService;
-        this.prRepo = prRepo;
-        this.vendorService = vendorService;
+        this.tabularReportService = tabularReportService;
+        this.artifactStore = artifactStore;
+        this.reportBulkhead = reportBulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Bounded and separate from the @Async executor. When it is full the
+        // submitting thread runs the stage itself rather than failing the run.
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(8),
+                r -> {
+                    Thread t = new Thread(r, "scheduled-report-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
 
     // 🔁 DAILY (Modified to every 6 months to save memory)
@@ -62,37 +120,167 @@ public class ScheduledReportService {
             log.setGeneratedAt(LocalDateTime.now());
             log.setRetryCount(0);
         }
+        assignWindow(log);
         repo.save(log);
 
-        try {
-            // 📊 Fetch data
-            List<?> prData = prRepo.findAll();
-            List<?> vendorData = vendorService.getAllVendors();
-
-            // 📄 Generate reports
-            byte[] prExcel = reportService.exportExcel("pr", prData);
-            byte[] vendorExcel = reportService.exportExcel("vendor", vendorData);
+        Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+        long start = System.nanoTime();
 
-            // 📎 Attachments
-            Map<String, byte[]> attachments = new HashMap<>();
-            attachments.put("pr-report.xlsx", prExcel);
-            attachments.put("vendor-report.xlsx", vendorExcel);
+        try {
+            // ♻️ A retry re-sends exactly what was rendered the first time
+            Map<String, byte[]> stored = loadStoredAttachments(log, timings);
+            Map<String, byte[]> attachments = stored != null ? stored : renderAttachments(log, timings);
 
             // 📧 Send email
-            emailService.sendWithMultipleAttachments(
-                    reportEmail,
-                    type + " Procurement Reports",
-                    "Attached are the PR and Vendor reports.",
-                    attachments);
+            String body = log.getWindowStart() == null
+                    ? "Attached are the PR and Vendor reports."
+                    : "Attached are the PR and Vendor reports with changes from "
+                            + log.getWindowStart() + " to " + log.getWindowEnd() + ".";
+            timed(timings, "email", () -> {
+                emailService.sendWithMultipleAttachments(
+                        reportEmail,
+                        type + " Procurement Reports",
+                        body,
+                        attachments);
+                return null;
+            });
 
             log.setStatus(ReportStatus.SUCCESS);
             log.setErrorMessage(null);
 
         } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
             log.setStatus(ReportStatus.FAILED);
-            log.setErrorMessage(e.getMessage());
+            log.setErrorMessage(cause.getMessage());
         }
 
+        timings.put("total", (System.nanoTime() - start) / 1_000_000);
+        log.setStageTimings(toJson(timings));
         repo.save(log);
     }
+
+    // A retry keeps the window of the original run, so it covers the same rows
+    private void assignWindow(ReportLog log) {
+        if (log.getWindowEnd() != null) {
+            return;
+        }
+        log.setWindowEnd(log.getGeneratedAt());
+
+        if ("incremental".equalsIgnoreCase(mode)) {
+            repo.findFirstByReportTypeAndStatusOrderByGeneratedAtDesc(log.getReportType(), ReportStatus.SUCCESS)
+                    .ifPresent(last -> log.setWindowStart(
+                            (last.getWindowEnd() != null ? last.getWindowEnd() : last.getGeneratedAt())
+                                    .minusSeconds(windowOverlapSeconds)));
+            // No successful run yet: the first report is a full snapshot
+        }
+    }
+
+    private Map<String, byte[]> renderAttachments(ReportLog log, Map<String, Long> timings) {
+
+        LocalDateTime since = log.getWindowStart();
+        LocalDateTime until = log.getWindowEnd();
+
+        // 📊 Fetch + 📄 render: the PR and vendor chains run concurrently,
+        // each render starting as soon as its own data is loaded
+        CompletableFuture<byte[]> prExcel = CompletableFuture
+                .supplyAsync(() -> timed(timings, "prLoad", () -> loadRows("pr", since, until)), executor)
+                .thenApplyAsync(data -> timed(timings, "prRender",
+                        () -> render("pr", data)), executor);
+
+        CompletableFuture<byte[]> vendorExcel = CompletableFuture
+                .supplyAsync(() -> timed(timings, "vendorLoad", () -> loadRows("vendor", since, until)), executor)
+                .thenApplyAsync(data -> timed(timings, "vendorRender",
+                        () -> render("vendor", data)), executor);
+
+        CompletableFuture.allOf(prExcel, vendorExcel).join();
+
+        // 📎 Attachments
+        Map<String, byte[]> attachments = new LinkedHashMap<>();
+        attachments.put("pr-report.xlsx", prExcel.join());
+        attachments.put("vendor-report.xlsx", vendorExcel.join());
+
+        // 💾 Keep them so a failed delivery can be retried without re-rendering
+        timed(timings, "store", () -> {
+            Map<String, String> refs = new LinkedHashMap<>();
+            try {
+                for (Map.Entry<String, byte[]> attachment : attachments.entrySet()) {
+                    refs.put(attachment.getKey(), artifactStore.put(attachment.getValue()));
+                }
+                log.setAttachmentRefs(mapper.writeValueAsString(refs));
+                repo.save(log);
+            } catch (Exception e) {
+                // Not fatal: a retry just renders again
+                System.err.println("Could not store report attachments: " + e.getMessage());
+            }
+            return null;
+        });
+
+        return attachments;
+    }
+
+    // Shares the render bulkhead with the download endpoints; waits for capacity
+    private byte[] render(String reportName, List<?> data) {
+        long estimate = reportBulkhead.estimate(data.size(), false);
+        try (ReportBulkhead.Permit permit = reportBulkhead.acquireBackground(reportName, estimate)) {
+            return reportService.exportExcel(reportName, data);
+        }
+    }
+
+    // Flat report rows, one query per report; no start means a full snapshot
+    private List<?> loadRows(String reportName, LocalDateTime since, LocalDateTime until) {
+        return since == null
+                ? tabularReportService.loadRows(reportName)
+                : tabularReportService.loadRowsChangedBetween(reportName, since, until);
+    }
+
+    // Null when the log has no stored attachments or any of them has expired
+    private Map<String, byte[]> loadStoredAttachments(ReportLog log, Map<String, Long> timings) {
+        if (log.getAttachmentRefs() == null) {
+            return null;
+        }
+
+        return timed(timings, "artifactLoad", () -> {
+            try {
+                Map<String, String> refs = mapper.readValue(log.getAttachmentRefs(),
+                        new TypeReference<LinkedHashMap<String, String>>() {});
+
+                Map<String, byte[]> attachments = new LinkedHashMap<>();
+                for (Map.Entry<String, String> ref : refs.entrySet()) {
+                    byte[] content = artifactStore.read(ref.getValue());
+                    if (content == null) {
+                        System.out.println("Report attachment " + ref.getKey() + " expired, rendering again");
+                        return null;
+                    }
+                    attachments.put(ref.getKey(), content);
+                }
+                return attachments;
+
+            } catch (Exception e) {
+                System.err.println("Could not load stored report attachments: " + e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    private <T> T timed(Map<String, Long> timings, String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timings.put(stage, elapsed / 1_000_000);
+            meterRegistry.timer("reports.scheduled.stage", "stage", stage)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String toJson(Map<String, Long> timings) {
+        try {
+            synchronized (timings) {
+                return mapper.writeValueAsString(timings);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
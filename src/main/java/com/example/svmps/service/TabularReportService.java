@@ -0,0 +1,315 @@
+package com.example.svmps.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.svmps.dto.PoReportRow;
+import com.example.svmps.dto.PrReportRow;
+import com.example.svmps.dto.VendorReportRow;
+import com.example.svmps.repository.PurchaseOrderRepository;
+import com.example.svmps.repository.PurchaseRequisitionRepository;
+import com.example.svmps.repository.VendorRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Report rows and fast tabular export of the pr/po/vendor reports.
+ *
+ * Rows are flat projections holding exactly the jrxml fields, built by a
+ * single query per report (joins done in the database, no entity graphs).
+ *
+ * The exports do not lay out pages: rows are streamed from the database
+ * (forward-only cursor) and written one by one, so memory stays flat however
+ * large the table is. Columns mirror the jrxml templates; CSV uses the
+ * template headers, NDJSON the template field names.
+ *
+ * An export runs inside the download's StreamingResponseBody and holds a
+ * pooled connection and an open cursor until the last row is written, so it
+ * is bounded by app.reports.export.timeout-seconds: the transaction timeout
+ * becomes the statement's query timeout, and the row loop gives up once the
+ * same time has passed (a slow client otherwise keeps the cursor open
+ * indefinitely). Failing rolls back and returns the connection.
+ */
+@Service
+public class TabularReportService {
+
+    // Rows kept in memory by the XLSX writer; older rows are flushed to disk
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    private static final Map<String, List<Column<?>>> COLUMNS = Map.of(
+            "pr", List.of(
+                    new Column<PrReportRow>("ID", "id", PrReportRow::getId),
+                    new Column<PrReportRow>("PR NUMBER", "prNumber", PrReportRow::getPrNumber),
+                    new Column<PrReportRow>("STATUS", "status", PrReportRow::getStatus),
+                    new Column<PrReportRow>("TOTAL AMOUNT", "totalAmount", PrReportRow::getTotalAmount)),
+            "po", List.of(
+                    new Column<PoReportRow>("ID", "id", PoReportRow::getId),
+                    new Column<PoReportRow>("PO NUMBER", "poNumber", PoReportRow::getPoNumber),
+                    new Column<PoReportRow>("STATUS", "status", PoReportRow::getStatus),
+                    new Column<PoReportRow>("AMOUNT", "totalAmount", PoReportRow::getTotalAmount),
+                    new Column<PoReportRow>("REM QTY", "remainingQuantity", PoReportRow::getRemainingQuantity),
+                    new Column<PoReportRow>("BALANCE", "balanceAmount", PoReportRow::getBalanceAmount)),
+            "vendor", List.of(
+                    new Column<VendorReportRow>("ID", "id", VendorReportRow::getId),
+                    new Column<VendorReportRow>("NAME", "name", VendorReportRow::getName),
+                    new Column<VendorReportRow>("EMAIL", "email", VendorReportRow::getEmail),
+                    new Column<VendorReportRow>("PHONE", "phone", VendorReportRow::getPhone),
+                    new Column<VendorReportRow>("RATING", "rating", VendorReportRow::getRating),
+                    new Column<VendorReportRow>("LOCATION", "location", VendorReportRow::getLocation)));
+
+    private final PurchaseRequisitionRepository prRepo;
+    private final PurchaseOrderRepository poRepo;
+    private final VendorRepository vendorRepo;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Upper bound for one streamed export; matches spring.mvc.async.request-timeout
+    @Value("${app.reports.export.timeout-seconds:300}")
+    private long exportTimeoutSeconds;
+
+    public TabularReportService(
+            PurchaseRequisitionRepository prRepo,
+            PurchaseOrderRepository poRepo,
+            VendorRepository vendorRepo) {
+
+        this.prRepo = prRepo;
+        this.poRepo = poRepo;
+        this.vendorRepo = vendorRepo;
+    }
+
+    // ================= ROWS =================
+    /**
+     * All report rows, for the Jasper engine which needs the whole data source.
+     */
+    @Transactional(readOnly = true)
+    public List<?> loadRows(String reportName) {
+        try (Stream<?> rows = openRows(reportName)) {
+            return rows.toList();
+        }
+    }
+
+    /**
+     * Report rows created or updated in [since, until).
+     */
+    @Transactional(readOnly = true)
+    public List<?> loadRowsChangedBetween(String reportName, LocalDateTime since, LocalDateTime until) {
+        return switch (reportName) {
+            case "pr" -> prRepo.findReportRowsUpdatedBetween(since, until);
+            case "vendor" -> {
+                // A vendor row shows the linked user's name and email, so a user change counts too
+                Map<Long, VendorReportRow> changed = new TreeMap<>();
+                vendorRepo.findReportRowsUpdatedBetween(since, until).forEach(r -> changed.put(r.getId(), r));
+                vendorRepo.findReportRowsWithUserUpdatedBetween(since, until).forEach(r -> changed.put(r.getId(), r));
+                yield List.copyOf(changed.values());
+            }
+            default -> throw new IllegalArgumentException("No changed-since rows for report: " + reportName);
+        };
+    }
+
+    // ================= XLSX =================
+    @Transactional(readOnly = true, timeoutString = "${app.reports.export.timeout-seconds:300}")
+    public void writeXlsx(String reportName, OutputStream out) {
+
+        List<Column<?>> columns = columns(reportName);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        try (Stream<?> rows = exportRows(reportName)) {
+            SXSSFSheet sheet = workbook.createSheet(reportName.toUpperCase() + " REPORT");
+
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < columns.size(); c++) {
+                Cell cell = header.createCell(c);
+                cell.setCellValue(columns.get(c).header);
+                cell.setCellStyle(headerStyle);
+            }
+
+            int[] rowIndex = { 1 };
+            rows.forEach(item -> {
+                Row row = sheet.createRow(rowIndex[0]++);
+                for (int c = 0; c < columns.size(); c++) {
+                    setCell(row.createCell(c), columns.get(c).valueOf(item));
+                }
+            });
+
+            workbook.write(out);
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Excel export failed", e);
+        } finally {
+            // Deletes the temp files holding the flushed rows
+            workbook.dispose();
+        }
+    }
+
+    // ================= CSV =================
+    @Transactional(readOnly = true, timeoutString = "${app.reports.export.timeout-seconds:300}")
+    public void writeCsv(String reportName, OutputStream out) {
+
+        List<Column<?>> columns = columns(reportName);
+
+        try (Stream<?> rows = exportRows(reportName)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(columns.get(c).header));
+            }
+            writer.write("\r\n");
+            // Send the header right away so the client sees the first byte quickly
+            writer.flush();
+
+            Iterator<?> it = rows.iterator();
+            while (it.hasNext()) {
+                Object item = it.next();
+                for (int c = 0; c < columns.size(); c++) {
+                    if (c > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csvValue(columns.get(c).valueOf(item)));
+                }
+                writer.write("\r\n");
+            }
+            writer.flush();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("CSV export failed", e);
+        }
+    }
+
+    // ================= NDJSON =================
+    @Transactional(readOnly = true, timeoutString = "${app.reports.export.timeout-seconds:300}")
+    public void writeNdjson(String reportName, OutputStream out) {
+
+        List<Column<?>> columns = columns(reportName);
+
+        try (Stream<?> rows = exportRows(reportName);
+                JsonGenerator json = mapper.getFactory().createGenerator(out)) {
+
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are ended explicitly; the default separator would start each one with a space
+            json.setRootValueSeparator(null);
+
+            boolean first = true;
+            Iterator<?> it = rows.iterator();
+            while (it.hasNext()) {
+                Object item = it.next();
+                json.writeStartObject();
+                for (Column<?> column : columns) {
+                    json.writeObjectField(column.field, column.valueOf(item));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+
+                if (first) {
+                    json.flush();
+                    first = false;
+                }
+            }
+            json.flush();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("NDJSON export failed", e);
+        }
+    }
+
+    // ================= HELPERS =================
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private List<Column<?>> columns(String reportName) {
+        List<Column<?>> columns = COLUMNS.get(reportName);
+        if (columns == null) {
+            throw new IllegalArgumentException("Unknown report: " + reportName);
+        }
+        return columns;
+    }
+
+    private Stream<?> openRows(String reportName) {
+        return switch (reportName) {
+            case "pr" -> prRepo.streamReportRows();
+            case "po" -> poRepo.streamReportRows();
+            case "vendor" -> vendorRepo.streamReportRows();
+            default -> throw new IllegalArgumentException("Unknown report: " + reportName);
+        };
+    }
+
+    // Rows for a streamed export; fails once the export has run too long
+    private Stream<?> exportRows(String reportName) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(exportTimeoutSeconds);
+        return openRows(reportName).peek(row -> {
+            if (System.nanoTime() - deadline > 0) {
+                throw new RuntimeException("Report export exceeded " + exportTimeoutSeconds + "s");
+            }
+        });
+    }
+
+    private void setCell(Cell cell, Object value) {
+        if (value == null) {
+            cell.setBlank();
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    private static final class Column<T> {
+        private final String header;
+        private final String field; // jrxml field name, used as the NDJSON key
+        private final Function<T, Object> value;
+
+        private Column(String header, String field, Function<T, Object> value) {
+            this.header = header;
+            this.field = field;
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object valueOf(Object row) {
+            return value.apply((T) row);
+        }
+    }
+}
@@ -232,6 +232,15 @@ public class VendorService {
         vendorRepository.delete(v);
     }
 
+    // Read-only ownership check; unlike getVendorIdByUsername it never creates a profile
+    @Transactional(readOnly = true)
+    public boolean isOwnVendor(String username, Long vendorId) {
+        return userRepository.findByUsername(username)
+                .flatMap(user -> vendorRepository.findByUserId(user.getId()))
+                .map(vendor -> vendor.getId().equals(vendorId))
+                .orElse(false);
+    }
+
     // Used to map JWT username → vendorId
     @Transactional
     public Long getVendorIdByUsername(String username) {
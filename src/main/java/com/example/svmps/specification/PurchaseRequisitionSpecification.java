@@ -0,0 +1,60 @@
+package com.example.svmps.specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.svmps.entity.PurchaseRequisition;
+
+import jakarta.persistence.criteria.JoinType;
+
+public class PurchaseRequisitionSpecification {
+
+    public static Specification<PurchaseRequisition> hasStatus(String status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<PurchaseRequisition> hasVendor(Long vendorId) {
+        return (root, query, cb) -> vendorId == null ? null : cb.equal(root.get("vendor").get("id"), vendorId);
+    }
+
+    public static Specification<PurchaseRequisition> hasRequesterEmail(String email) {
+        return (root, query, cb) -> email == null ? null : cb.equal(root.get("requesterEmail"), email);
+    }
+
+    public static Specification<PurchaseRequisition> amountAtLeast(BigDecimal min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(root.get("totalAmount"), min);
+    }
+
+    public static Specification<PurchaseRequisition> amountAtMost(BigDecimal max) {
+        return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(root.get("totalAmount"), max);
+    }
+
+    public static Specification<PurchaseRequisition> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<PurchaseRequisition> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("createdAt"), to);
+    }
+
+    // Keyset: rows after (createdAt, id) in (createdAt DESC, id DESC) order
+    public static Specification<PurchaseRequisition> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> createdAt == null ? null : cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.get("id"), id)));
+    }
+
+    // Loads the vendor in the same query instead of one select per vendor
+    public static Specification<PurchaseRequisition> fetchVendor() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("vendor", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.svmps.util;
+
+import java.io.File;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+
+/**
+ * Build-time compiler for the report templates.
+ *
+ * Run by the Maven build (process-classes) to turn every
+ * {@code <source>/*.jrxml} into {@code <target>/*.jasper}, so the
+ * application never has to compile a template while serving a request.
+ */
+public final class JasperTemplateCompiler {
+
+    private JasperTemplateCompiler() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: JasperTemplateCompiler <sourceDir> <targetDir>");
+        }
+
+        File sourceDir = new File(args[0]);
+        File targetDir = new File(args[1]);
+        targetDir.mkdirs();
+
+        File[] sources = sourceDir.listFiles((dir, name) -> name.endsWith(".jrxml"));
+        if (sources == null) {
+            throw new IllegalArgumentException("Template directory not found: " + sourceDir);
+        }
+
+        for (File source : sources) {
+            String name = source.getName().replace(".jrxml", ".jasper");
+            File target = new File(targetDir, name);
+            JasperCompileManager.compileReportToFile(source.getPath(), target.getPath());
+            System.out.println("Compiled report template: " + target);
+        }
+    }
+}
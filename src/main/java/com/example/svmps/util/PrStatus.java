@@ -1,5 +1,8 @@
 package com.example.svmps.util;
 
+import java.util.Map;
+import java.util.Set;
+
 public final class PrStatus {
 
     public static final String DRAFT = "DRAFT";
@@ -8,5 +11,19 @@ public final class PrStatus {
     public static final String APPROVED = "APPROVED";
     public static final String REJECTED = "REJECTED";
 
+    // Statuses a PR may move into each status from
+    private static final Map<String, Set<String>> SOURCES = Map.of(
+            SUBMITTED, Set.of(DRAFT, PENDING),
+            APPROVED, Set.of(SUBMITTED),
+            REJECTED, Set.of(SUBMITTED));
+
+    public static Set<String> sourcesOf(String target) {
+        Set<String> sources = SOURCES.get(target);
+        if (sources == null) {
+            throw new IllegalArgumentException("No transition into " + target);
+        }
+        return sources;
+    }
+
     private PrStatus() {}
 }
@@ -0,0 +1,310 @@
+package com.example.svmps.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Size-bounded LRU cache for generated documents (reports, invoices).
+ *
+ * Entries live on the heap until {@code maxMemoryBytes} is reached; the least
+ * recently used ones are then spilled to files in {@code directory}, which is
+ * itself bounded by {@code maxDiskBytes}. Entries larger than a quarter of the
+ * memory budget go straight to disk.
+ *
+ * Hits, misses and evictions are counted as {@code cache.gets} and
+ * {@code cache.evictions}, tagged with the cache name.
+ */
+public class SpillingByteCache {
+
+    private final String name;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final Path directory;
+    private final MeterRegistry meterRegistry;
+
+    // access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Path> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memoryBytes;
+    private long diskBytes;
+    private long fileCounter;
+
+    public SpillingByteCache(String name, long maxMemoryBytes, long maxDiskBytes,
+            Path directory, MeterRegistry meterRegistry) {
+
+        this.name = name;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.directory = directory;
+        this.meterRegistry = meterRegistry;
+
+        resetDirectory();
+
+        meterRegistry.gauge("cache.size.bytes", Tags.of("cache", name, "tier", "memory"),
+                this, c -> c.memoryBytes);
+        meterRegistry.gauge("cache.size.bytes", Tags.of("cache", name, "tier", "disk"),
+                this, c -> c.diskBytes);
+    }
+
+    // ================= READ =================
+
+    /**
+     * Opens the cached content, or returns null on a miss. The caller must
+     * close the stream. A disk entry evicted while it is being read stays
+     * readable until the stream is closed.
+     */
+    public synchronized InputStream open(String key) {
+        byte[] bytes = memory.get(key);
+        if (bytes != null) {
+            count("hit");
+            return new ByteArrayInputStream(bytes);
+        }
+
+        Path file = disk.get(key);
+        if (file != null) {
+            try {
+                InputStream in = Files.newInputStream(file);
+                count("hit");
+                return in;
+            } catch (IOException e) {
+                removeDisk(key);
+            }
+        }
+
+        count("miss");
+        return null;
+    }
+
+    public byte[] get(String key) {
+        try (InputStream in = open(key)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // ================= WRITE =================
+
+    public synchronized void put(String key, byte[] bytes) {
+        remove(key);
+        if (bytes.length > maxMemoryBytes / 4) {
+            try {
+                Path file = newFile();
+                Files.write(file, bytes);
+                addDisk(key, file);
+            } catch (IOException e) {
+                System.err.println("Cache " + name + ": could not spill entry to disk: " + e.getMessage());
+            }
+            return;
+        }
+        memory.put(key, bytes);
+        memoryBytes += bytes.length;
+        evictMemory();
+    }
+
+    /**
+     * Tees everything written to {@code target} into a temp file. The content
+     * is only cached when {@link Capture#commit()} is called, so a failed or
+     * aborted render never ends up in the cache.
+     */
+    public Capture capture(String key, OutputStream target) {
+        try {
+            Path file;
+            synchronized (this) {
+                file = newFile();
+            }
+            return new Capture(key, target, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void invalidate(String key) {
+        remove(key);
+    }
+
+    public synchronized void invalidatePrefix(String prefix) {
+        // get() would reorder the access-ordered map, so go through the iterator
+        Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, byte[]> entry = it.next();
+            if (entry.getKey().startsWith(prefix)) {
+                memoryBytes -= entry.getValue().length;
+                it.remove();
+            }
+        }
+        disk.keySet().stream().filter(k -> k.startsWith(prefix)).toList().forEach(this::removeDisk);
+    }
+
+    // ================= INTERNAL =================
+
+    private synchronized void commitFile(String key, Path file) throws IOException {
+        long size = Files.size(file);
+        if (size <= maxMemoryBytes / 4) {
+            byte[] bytes = Files.readAllBytes(file);
+            Files.deleteIfExists(file);
+            put(key, bytes);
+        } else {
+            remove(key);
+            addDisk(key, file);
+        }
+    }
+
+    private void remove(String key) {
+        byte[] old = memory.remove(key);
+        if (old != null) {
+            memoryBytes -= old.length;
+        }
+        removeDisk(key);
+    }
+
+    private void evictMemory() {
+        Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            it.remove();
+            memoryBytes -= eldest.getValue().length;
+            try {
+                Path file = newFile();
+                Files.write(file, eldest.getValue());
+                addDisk(eldest.getKey(), file);
+            } catch (IOException e) {
+                evicted();
+            }
+        }
+    }
+
+    private void addDisk(String key, Path file) throws IOException {
+        disk.put(key, file);
+        diskBytes += Files.size(file);
+
+        Iterator<Map.Entry<String, Path>> it = disk.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && it.hasNext()) {
+            Map.Entry<String, Path> eldest = it.next();
+            it.remove();
+            diskBytes -= deleteFile(eldest.getValue());
+            evicted();
+        }
+    }
+
+    private void removeDisk(String key) {
+        Path file = disk.remove(key);
+        if (file != null) {
+            diskBytes -= deleteFile(file);
+        }
+    }
+
+    private long deleteFile(Path file) {
+        try {
+            long size = Files.size(file);
+            Files.deleteIfExists(file);
+            return size;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private Path newFile() throws IOException {
+        return directory.resolve(name + "-" + (++fileCounter) + ".bin");
+    }
+
+    // Files from a previous run are not indexed, so start from an empty directory
+    private void resetDirectory() {
+        try {
+            if (Files.exists(directory)) {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    files.sorted(Comparator.reverseOrder())
+                            .filter(f -> !f.equals(directory))
+                            .forEach(f -> f.toFile().delete());
+                }
+            }
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare cache directory " + directory, e);
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("cache.gets", "cache", name, "result", result).increment();
+    }
+
+    private void evicted() {
+        meterRegistry.counter("cache.evictions", "cache", name).increment();
+    }
+
+    /**
+     * Output stream that writes through to the response and into the cache.
+     */
+    public final class Capture extends FilterOutputStream {
+
+        private final String key;
+        private final Path file;
+        private final OutputStream copy;
+        private boolean done;
+
+        private Capture(String key, OutputStream target, Path file) throws IOException {
+            super(target);
+            this.key = key;
+            this.file = file;
+            // Exporters write single bytes; unbuffered, each would be a syscall
+            this.copy = new BufferedOutputStream(Files.newOutputStream(file));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        // Closes nothing: the response stream belongs to the container, and the
+        // copy is closed by commit() or discard()
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        public void commit() throws IOException {
+            if (done) {
+                return;
+            }
+            done = true;
+            copy.close();
+            commitFile(key, file);
+        }
+
+        public void discard() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                copy.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // temp file is removed with the directory on next start
+            }
+        }
+    }
+}
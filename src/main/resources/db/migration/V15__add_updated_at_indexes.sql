@@ -0,0 +1,32 @@
+-- Migration: Index updated_at so the scheduled report's changed-rows window
+-- (updated_at >= :since AND updated_at < :until) is a range scan, not a table scan
+DROP PROCEDURE IF EXISTS add_updated_at_indexes_v15;
+
+DELIMITER //
+
+CREATE PROCEDURE add_updated_at_indexes_v15()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_requisitions' AND INDEX_NAME = 'idx_pr_updated_at' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_pr_updated_at ON purchase_requisitions (updated_at);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_orders' AND INDEX_NAME = 'idx_po_updated_at' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_po_updated_at ON purchase_orders (updated_at);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'vendors' AND INDEX_NAME = 'idx_vendor_updated_at' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_vendor_updated_at ON vendors (updated_at);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'users' AND INDEX_NAME = 'idx_user_updated_at' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_user_updated_at ON users (updated_at);
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL add_updated_at_indexes_v15();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS add_updated_at_indexes_v15;
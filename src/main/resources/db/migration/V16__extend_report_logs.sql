@@ -0,0 +1,61 @@
+-- Migration: report_logs also tracks on-demand report jobs
+-- The table was originally created by Hibernate; create it if it is missing
+CREATE TABLE IF NOT EXISTS report_logs (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  report_type VARCHAR(20),
+  status VARCHAR(20),
+  generated_at DATETIME(6),
+  retry_count INT NOT NULL DEFAULT 0,
+  error_message TEXT
+);
+
+DROP PROCEDURE IF EXISTS alter_report_logs_v16;
+
+DELIMITER //
+
+CREATE PROCEDURE alter_report_logs_v16()
+BEGIN
+    -- Hibernate generated ENUM columns; new values (ON_DEMAND, RUNNING) need plain strings
+    ALTER TABLE report_logs MODIFY COLUMN report_type VARCHAR(20);
+    ALTER TABLE report_logs MODIFY COLUMN status VARCHAR(20);
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'report_name' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN report_name VARCHAR(50);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'format' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN format VARCHAR(10);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'params_key' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN params_key VARCHAR(255);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'started_at' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN started_at DATETIME(6);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'completed_at' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN completed_at DATETIME(6);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'artifact_path' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN artifact_path VARCHAR(500);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'artifact_size' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN artifact_size BIGINT;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'report_logs' AND INDEX_NAME = 'idx_report_logs_type_status' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_report_logs_type_status ON report_logs (report_type, status);
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL alter_report_logs_v16();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS alter_report_logs_v16;
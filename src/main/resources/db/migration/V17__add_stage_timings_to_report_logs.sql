@@ -0,0 +1,19 @@
+-- Migration: Per-stage timings (JSON, milliseconds) of scheduled report runs
+DROP PROCEDURE IF EXISTS alter_report_logs_v17;
+
+DELIMITER //
+
+CREATE PROCEDURE alter_report_logs_v17()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'stage_timings' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN stage_timings TEXT;
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL alter_report_logs_v17();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS alter_report_logs_v17;
@@ -0,0 +1,19 @@
+-- Migration: References (file name -> content hash) to the rendered attachments of scheduled reports
+DROP PROCEDURE IF EXISTS alter_report_logs_v18;
+
+DELIMITER //
+
+CREATE PROCEDURE alter_report_logs_v18()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'attachment_refs' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN attachment_refs TEXT;
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL alter_report_logs_v18();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS alter_report_logs_v18;
@@ -0,0 +1,27 @@
+-- Migration: Changed-since window of scheduled (DAILY/WEEKLY) report runs
+DROP PROCEDURE IF EXISTS alter_report_logs_v19;
+
+DELIMITER //
+
+CREATE PROCEDURE alter_report_logs_v19()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'window_start' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN window_start DATETIME(6);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'window_end' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN window_end DATETIME(6);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'report_logs' AND INDEX_NAME = 'idx_report_logs_type_status_generated' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_report_logs_type_status_generated ON report_logs (report_type, status, generated_at);
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL alter_report_logs_v19();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS alter_report_logs_v19;
@@ -0,0 +1,30 @@
+-- Migration: Secondary indexes for the PO read paths
+--   purchase_orders(pr_id)                   POs of a PR, and the PR join of every by-vendor query
+--   purchase_orders(status)                  status filters (bulk invoice download)
+--   purchase_requisitions(vendor_id, status) a vendor's PRs, optionally by status
+DROP PROCEDURE IF EXISTS add_po_lookup_indexes_v20;
+
+DELIMITER //
+
+CREATE PROCEDURE add_po_lookup_indexes_v20()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_orders' AND INDEX_NAME = 'idx_po_pr_id' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_po_pr_id ON purchase_orders (pr_id);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_orders' AND INDEX_NAME = 'idx_po_status' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_po_status ON purchase_orders (status);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_requisitions' AND INDEX_NAME = 'idx_pr_vendor_status' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_pr_vendor_status ON purchase_requisitions (vendor_id, status);
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL add_po_lookup_indexes_v20();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS add_po_lookup_indexes_v20;
@@ -0,0 +1,8 @@
+-- Migration: Sequences for document numbers (PR-2026-000123, PO-2026-000045)
+-- One row per prefix and year; next_value is the first value not yet handed
+-- out. App nodes reserve blocks by bumping next_value (see NumberAllocator).
+CREATE TABLE IF NOT EXISTS number_sequences (
+  name VARCHAR(50) PRIMARY KEY,
+  next_value BIGINT NOT NULL,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
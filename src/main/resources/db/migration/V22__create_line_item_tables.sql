@@ -0,0 +1,91 @@
+-- Migration: Normalized line items for PRs and POs
+-- Replaces reading the parallel items_json / quantity_json / item_amount_json
+-- columns. The JSON columns are kept (and still written) while older app
+-- versions may be running; rows are backfilled from them below (MySQL 8 JSON_TABLE).
+
+CREATE TABLE IF NOT EXISTS pr_line_items (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  pr_id BIGINT NOT NULL,
+  line_no INT NOT NULL,
+  item_name VARCHAR(255) NOT NULL,
+  quantity INT NOT NULL,
+  unit_amount DECIMAL(15,2) NOT NULL,
+  line_amount DECIMAL(15,2) NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE KEY uk_pr_line_items_pr_line (pr_id, line_no),
+  KEY idx_pr_line_items_item_created (item_name, created_at),
+  CONSTRAINT fk_pr_line_items_pr FOREIGN KEY (pr_id) REFERENCES purchase_requisitions(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS po_line_items (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  po_id BIGINT NOT NULL,
+  line_no INT NOT NULL,
+  item_name VARCHAR(255) NOT NULL,
+  quantity INT NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE KEY uk_po_line_items_po_line (po_id, line_no),
+  KEY idx_po_line_items_item_created (item_name, created_at),
+  CONSTRAINT fk_po_line_items_po FOREIGN KEY (po_id) REFERENCES purchase_orders(id) ON DELETE CASCADE
+);
+
+-- Aggregates of the PR's lines, maintained on write
+DROP PROCEDURE IF EXISTS add_pr_line_aggregates_v22;
+
+DELIMITER //
+
+CREATE PROCEDURE add_pr_line_aggregates_v22()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'purchase_requisitions' AND COLUMN_NAME = 'line_count' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE purchase_requisitions ADD COLUMN line_count INT;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'purchase_requisitions' AND COLUMN_NAME = 'total_quantity' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE purchase_requisitions ADD COLUMN total_quantity INT;
+    END IF;
+END //
+
+DELIMITER ;
+
+CALL add_pr_line_aggregates_v22();
+
+DROP PROCEDURE IF EXISTS add_pr_line_aggregates_v22;
+
+-- Backfill PR lines; malformed JSON yields no lines (reads fall back to the JSON columns)
+INSERT INTO pr_line_items (pr_id, line_no, item_name, quantity, unit_amount, line_amount, created_at)
+SELECT pr.id,
+       i.line_no,
+       LEFT(i.item_name, 255),
+       COALESCE(q.quantity, 0),
+       COALESCE(a.amount, 0),
+       COALESCE(q.quantity, 0) * COALESCE(a.amount, 0),
+       pr.created_at
+FROM purchase_requisitions pr
+JOIN JSON_TABLE(IF(JSON_VALID(pr.items_json), pr.items_json, '[]'), '$[*]'
+        COLUMNS (line_no FOR ORDINALITY, item_name VARCHAR(1000) PATH '$')) i
+LEFT JOIN JSON_TABLE(IF(JSON_VALID(pr.quantity_json), pr.quantity_json, '[]'), '$[*]'
+        COLUMNS (line_no FOR ORDINALITY, quantity INT PATH '$')) q ON q.line_no = i.line_no
+LEFT JOIN JSON_TABLE(IF(JSON_VALID(pr.item_amount_json), pr.item_amount_json, '[]'), '$[*]'
+        COLUMNS (line_no FOR ORDINALITY, amount DECIMAL(15,2) PATH '$')) a ON a.line_no = i.line_no
+WHERE i.item_name IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM pr_line_items l WHERE l.pr_id = pr.id);
+
+UPDATE purchase_requisitions pr
+SET pr.line_count = (SELECT COUNT(*) FROM pr_line_items l WHERE l.pr_id = pr.id),
+    pr.total_quantity = (SELECT COALESCE(SUM(l.quantity), 0) FROM pr_line_items l WHERE l.pr_id = pr.id)
+WHERE pr.line_count IS NULL;
+
+-- Backfill PO lines (POs carry items and quantities, no unit amounts)
+INSERT INTO po_line_items (po_id, line_no, item_name, quantity, created_at)
+SELECT po.id,
+       i.line_no,
+       LEFT(i.item_name, 255),
+       COALESCE(q.quantity, 0),
+       po.created_at
+FROM purchase_orders po
+JOIN JSON_TABLE(IF(JSON_VALID(po.items_json), po.items_json, '[]'), '$[*]'
+        COLUMNS (line_no FOR ORDINALITY, item_name VARCHAR(1000) PATH '$')) i
+LEFT JOIN JSON_TABLE(IF(JSON_VALID(po.quantity_json), po.quantity_json, '[]'), '$[*]'
+        COLUMNS (line_no FOR ORDINALITY, quantity INT PATH '$')) q ON q.line_no = i.line_no
+WHERE i.item_name IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM po_line_items l WHERE l.po_id = po.id);
@@ -0,0 +1,38 @@
+-- Migration: Composite indexes for GET /api/pr/search
+-- Every search pages on (created_at DESC, id DESC); each filter that narrows
+-- by equality gets an index whose tail is the page order, so a page is an
+-- index range read of "size" rows however deep the cursor is.
+--   purchase_requisitions(created_at, id)                  unfiltered / amount / date range
+--   purchase_requisitions(status, created_at, id)          status filter
+--   purchase_requisitions(vendor_id, created_at, id)       vendor filter
+--   purchase_requisitions(requester_email, created_at, id) requester filter
+DROP PROCEDURE IF EXISTS add_pr_search_indexes_v23;
+
+DELIMITER //
+
+CREATE PROCEDURE add_pr_search_indexes_v23()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_requisitions' AND INDEX_NAME = 'idx_pr_created_id' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_pr_created_id ON purchase_requisitions (created_at, id);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_requisitions' AND INDEX_NAME = 'idx_pr_status_created' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_pr_status_created ON purchase_requisitions (status, created_at, id);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_requisitions' AND INDEX_NAME = 'idx_pr_vendor_created' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_pr_vendor_created ON purchase_requisitions (vendor_id, created_at, id);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_NAME = 'purchase_requisitions' AND INDEX_NAME = 'idx_pr_requester_created' AND TABLE_SCHEMA = DATABASE()) THEN
+        CREATE INDEX idx_pr_requester_created ON purchase_requisitions (requester_email, created_at, id);
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL add_pr_search_indexes_v23();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS add_pr_search_indexes_v23;
@@ -0,0 +1,92 @@
+-- Migration: Write counters for the report data version (ETag / output cache key)
+-- MAX(updated_at) + COUNT(*) missed writes: updated_at has second precision,
+-- and a row committed late can carry an older timestamp than one already
+-- seen. Triggers bump a counter in the writing transaction instead, so every
+-- committed insert, update or delete moves the version forward.
+-- Each table's writes serialize briefly on its counter row until commit.
+--
+-- Requirement: with binary logging on (the MySQL 8 default), creating a
+-- trigger needs the SUPER privilege or log_bin_trust_function_creators=1 on
+-- the server. The check below stops the migration with that message before
+-- anything is created; grant one of the two and restart the application.
+DROP PROCEDURE IF EXISTS check_trigger_privilege_v24;
+
+DELIMITER //
+
+CREATE PROCEDURE check_trigger_privilege_v24()
+BEGIN
+    IF @@GLOBAL.log_bin = 1
+            AND @@GLOBAL.log_bin_trust_function_creators = 0
+            AND NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.USER_PRIVILEGES
+                            WHERE PRIVILEGE_TYPE = 'SUPER'
+                              AND GRANTEE = CONCAT('''', SUBSTRING_INDEX(CURRENT_USER(), '@', 1), '''@''',
+                                                   SUBSTRING_INDEX(CURRENT_USER(), '@', -1), '''')) THEN
+        SIGNAL SQLSTATE '45000'
+            SET MESSAGE_TEXT = 'V24 creates triggers: binary logging is on, so grant SUPER or set log_bin_trust_function_creators=1';
+    END IF;
+END //
+
+DELIMITER ;
+
+CALL check_trigger_privilege_v24();
+
+DROP PROCEDURE check_trigger_privilege_v24;
+
+CREATE TABLE IF NOT EXISTS data_versions (
+  name VARCHAR(50) PRIMARY KEY,
+  version BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO data_versions (name, version) VALUES
+  ('purchase_requisitions', 0),
+  ('purchase_orders', 0),
+  ('vendors', 0),
+  ('users', 0);
+
+DROP TRIGGER IF EXISTS trg_pr_version_insert;
+CREATE TRIGGER trg_pr_version_insert AFTER INSERT ON purchase_requisitions
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'purchase_requisitions';
+
+DROP TRIGGER IF EXISTS trg_pr_version_update;
+CREATE TRIGGER trg_pr_version_update AFTER UPDATE ON purchase_requisitions
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'purchase_requisitions';
+
+DROP TRIGGER IF EXISTS trg_pr_version_delete;
+CREATE TRIGGER trg_pr_version_delete AFTER DELETE ON purchase_requisitions
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'purchase_requisitions';
+
+DROP TRIGGER IF EXISTS trg_po_version_insert;
+CREATE TRIGGER trg_po_version_insert AFTER INSERT ON purchase_orders
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'purchase_orders';
+
+DROP TRIGGER IF EXISTS trg_po_version_update;
+CREATE TRIGGER trg_po_version_update AFTER UPDATE ON purchase_orders
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'purchase_orders';
+
+DROP TRIGGER IF EXISTS trg_po_version_delete;
+CREATE TRIGGER trg_po_version_delete AFTER DELETE ON purchase_orders
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'purchase_orders';
+
+DROP TRIGGER IF EXISTS trg_vendor_version_insert;
+CREATE TRIGGER trg_vendor_version_insert AFTER INSERT ON vendors
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'vendors';
+
+DROP TRIGGER IF EXISTS trg_vendor_version_update;
+CREATE TRIGGER trg_vendor_version_update AFTER UPDATE ON vendors
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'vendors';
+
+DROP TRIGGER IF EXISTS trg_vendor_version_delete;
+CREATE TRIGGER trg_vendor_version_delete AFTER DELETE ON vendors
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'vendors';
+
+DROP TRIGGER IF EXISTS trg_user_version_insert;
+CREATE TRIGGER trg_user_version_insert AFTER INSERT ON users
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'users';
+
+DROP TRIGGER IF EXISTS trg_user_version_update;
+CREATE TRIGGER trg_user_version_update AFTER UPDATE ON users
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'users';
+
+DROP TRIGGER IF EXISTS trg_user_version_delete;
+CREATE TRIGGER trg_user_version_delete AFTER DELETE ON users
+  FOR EACH ROW UPDATE data_versions SET version = version + 1 WHERE name = 'users';
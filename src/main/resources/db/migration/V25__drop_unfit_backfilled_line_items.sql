@@ -0,0 +1,42 @@
+-- Migration: Drop backfilled line items that could not hold the JSON values
+-- V22 truncated item names to 255 characters, skipped null item names and
+-- rounded unit amounts to 2 decimals. The API now rejects such values, so
+-- only old PRs/POs can contain them; their lines are removed and reads fall
+-- back to the JSON columns, which still hold the exact data. PR aggregates
+-- are cleared too, so PO creation sums quantity_json for them instead.
+
+DROP TEMPORARY TABLE IF EXISTS unfit_pr_lines_v25;
+CREATE TEMPORARY TABLE unfit_pr_lines_v25 (pr_id BIGINT PRIMARY KEY);
+
+INSERT IGNORE INTO unfit_pr_lines_v25 (pr_id)
+SELECT pr.id
+FROM purchase_requisitions pr
+JOIN JSON_TABLE(IF(JSON_VALID(pr.items_json), pr.items_json, '[]'), '$[*]'
+        COLUMNS (item_name VARCHAR(1000) PATH '$')) i
+WHERE i.item_name IS NULL OR CHAR_LENGTH(i.item_name) > 255;
+
+INSERT IGNORE INTO unfit_pr_lines_v25 (pr_id)
+SELECT pr.id
+FROM purchase_requisitions pr
+JOIN JSON_TABLE(IF(JSON_VALID(pr.item_amount_json), pr.item_amount_json, '[]'), '$[*]'
+        COLUMNS (amount DECIMAL(65,30) PATH '$')) a
+WHERE a.amount <> ROUND(a.amount, 2);
+
+DELETE l FROM pr_line_items l
+JOIN unfit_pr_lines_v25 u ON u.pr_id = l.pr_id;
+
+UPDATE purchase_requisitions pr
+JOIN unfit_pr_lines_v25 u ON u.pr_id = pr.id
+SET pr.line_count = NULL,
+    pr.total_quantity = NULL;
+
+DROP TEMPORARY TABLE IF EXISTS unfit_pr_lines_v25;
+
+-- PO lines only carry names; POs keep reading their JSON columns
+DELETE l FROM po_line_items l
+JOIN purchase_orders po ON po.id = l.po_id
+WHERE EXISTS (
+    SELECT 1
+    FROM JSON_TABLE(IF(JSON_VALID(po.items_json), po.items_json, '[]'), '$[*]'
+            COLUMNS (item_name VARCHAR(1000) PATH '$')) i
+    WHERE i.item_name IS NULL OR CHAR_LENGTH(i.item_name) > 255);
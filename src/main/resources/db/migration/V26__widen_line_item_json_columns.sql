@@ -0,0 +1,33 @@
+-- Migration: Line-item JSON columns as MEDIUMTEXT
+-- The JSON copies are still written next to pr_line_items/po_line_items, and
+-- VARCHAR(1000) capped a PR at a few lines although the line tables (and the
+-- request validation) allow any number of 255-character lines.
+--   purchase_requisitions.items_json / quantity_json / item_amount_json
+--   purchase_orders.items_json / quantity_json
+DROP PROCEDURE IF EXISTS widen_line_item_json_v26;
+
+DELIMITER //
+
+CREATE PROCEDURE widen_line_item_json_v26()
+BEGIN
+    IF EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'purchase_requisitions' AND COLUMN_NAME = 'items_json' AND DATA_TYPE = 'varchar' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE purchase_requisitions
+            MODIFY items_json MEDIUMTEXT,
+            MODIFY quantity_json MEDIUMTEXT,
+            MODIFY item_amount_json MEDIUMTEXT;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'purchase_orders' AND COLUMN_NAME = 'items_json' AND DATA_TYPE = 'varchar' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE purchase_orders
+            MODIFY items_json MEDIUMTEXT,
+            MODIFY quantity_json MEDIUMTEXT;
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL widen_line_item_json_v26();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS widen_line_item_json_v26;
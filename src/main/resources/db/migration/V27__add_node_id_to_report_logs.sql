@@ -0,0 +1,20 @@
+-- Migration: Instance that queued an on-demand report job, so a restarting
+-- node fails only its own unfinished jobs
+DROP PROCEDURE IF EXISTS alter_report_logs_v27;
+
+DELIMITER //
+
+CREATE PROCEDURE alter_report_logs_v27()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'report_logs' AND COLUMN_NAME = 'node_id' AND TABLE_SCHEMA = DATABASE()) THEN
+        ALTER TABLE report_logs ADD COLUMN node_id VARCHAR(255);
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Execute the procedure
+CALL alter_report_logs_v27();
+
+-- Cleanup
+DROP PROCEDURE IF EXISTS alter_report_logs_v27;
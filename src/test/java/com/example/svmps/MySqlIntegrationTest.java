@@ -0,0 +1,60 @@
+package com.example.svmps;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Base for tests that need the real schema: the full application against
+ * MySQL migrated by Flyway (plus db/testschema, which an empty database
+ * needs first).
+ *
+ * The database is a MySQL container, or an existing empty schema given with
+ * {@code -Dsvmps.test.mysql-url=jdbc:mysql://host:port/db} (and optionally
+ * {@code svmps.test.mysql-username}/{@code -password}) where Docker is not
+ * available. Without either the tests are skipped.
+ */
+@SpringBootTest(properties = {
+        "resend.api-key=test",
+        "resend.from-email=test@example.com",
+        "app.reports.email=reports@example.com",
+        "spring.jpa.show-sql=false",
+        // Recreates the tables production got from Hibernate before Flyway
+        "spring.flyway.locations=classpath:db/migration,classpath:db/testschema"
+})
+@Import(MySqlTestcontainersConfiguration.class)
+@ExtendWith(MySqlIntegrationTest.DatabaseAvailable.class)
+public abstract class MySqlIntegrationTest {
+
+    static final String EXTERNAL_URL = "svmps.test.mysql-url";
+
+    @DynamicPropertySource
+    static void externalDatabase(DynamicPropertyRegistry registry) {
+        String url = System.getProperty(EXTERNAL_URL);
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("svmps.test.mysql-username", "test"));
+            registry.add("spring.datasource.password", () -> System.getProperty("svmps.test.mysql-password", "test"));
+        }
+    }
+
+    static class DatabaseAvailable implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            if (System.getProperty(EXTERNAL_URL) != null) {
+                return ConditionEvaluationResult.enabled("Using " + System.getProperty(EXTERNAL_URL));
+            }
+            if (DockerClientFactory.instance().isDockerAvailable()) {
+                return ConditionEvaluationResult.enabled("Using a MySQL container");
+            }
+            return ConditionEvaluationResult.disabled("No Docker and no " + EXTERNAL_URL);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.svmps;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * MySQL 8 in a container, wired in as the application's datasource. The
+ * container lives as long as the (cached) test context, so all database
+ * tests share one server and one Flyway run.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class MySqlTestcontainersConfiguration {
+
+    // Not started when the tests run against an existing database
+    @Bean
+    @ServiceConnection
+    @ConditionalOnExpression("'${svmps.test.mysql-url:}'.isEmpty()")
+    MySQLContainer<?> mysqlContainer() {
+        // Same connection options as application.yml. The migrations create
+        // triggers, which a non-SUPER user may only do with binary logging
+        // when function creators are trusted.
+        return new MySQLContainer<>("mysql:8.0")
+                .withCommand("--log-bin-trust-function-creators=1")
+                .withUrlParam("serverTimezone", "UTC")
+                .withUrlParam("rewriteBatchedStatements", "true");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.svmps;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Inserts the rows a test needs straight through JDBC, with unique names,
+ * so tests sharing the container database do not see each other's data.
+ */
+public class TestRows {
+
+    private static final AtomicLong SEQ = new AtomicLong(System.currentTimeMillis());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestRows(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long user() {
+        long n = SEQ.incrementAndGet();
+        return insert("INSERT INTO users (username, password, email) VALUES (?, ?, ?)",
+                "user" + n, "x", "user" + n + "@example.com");
+    }
+
+    public long vendor() {
+        return insert("INSERT INTO vendors (name, email) VALUES (?, ?)",
+                "Vendor " + SEQ.incrementAndGet(), "vendor@example.com");
+    }
+
+    public long pr(long vendorId, String status) {
+        return insert("INSERT INTO purchase_requisitions (pr_number, vendor_id, status, total_amount) VALUES (?, ?, ?, ?)",
+                "PR-T-" + SEQ.incrementAndGet(), vendorId, status, new BigDecimal("100.00"));
+    }
+
+    public long prLine(long prId, int lineNo, String itemName, int quantity) {
+        return insert("""
+                INSERT INTO pr_line_items (pr_id, line_no, item_name, quantity, unit_amount, line_amount)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """,
+                prId, lineNo, itemName, quantity, new BigDecimal("10.00"), new BigDecimal("10.00").multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    public long po(long prId, int totalQuantity) {
+        return insert("""
+                INSERT INTO purchase_orders (po_number, pr_id, status, total_amount, total_quantity, delivered_quantity)
+                VALUES (?, ?, 'CREATED', ?, ?, 0)
+                """,
+                "PO-T-" + SEQ.incrementAndGet(), prId, new BigDecimal("100.00"), totalQuantity);
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.svmps.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.svmps.MySqlIntegrationTest;
+import com.example.svmps.TestRows;
+import com.example.svmps.util.PrStatus;
+
+/**
+ * EXPLAIN of the SQL behind the PO lookups (findByPrId, findByVendorId,
+ * findByVendorIdAndStatus): each must reach its rows through an index,
+ * not a full scan.
+ */
+class PoLookupIndexTest extends MySqlIntegrationTest {
+
+    private static final String BY_PR = """
+            SELECT po.* FROM purchase_orders po WHERE po.pr_id = ?
+            """;
+
+    private static final String BY_VENDOR = """
+            SELECT po.* FROM purchase_orders po
+            JOIN purchase_requisitions pr ON po.pr_id = pr.id
+            WHERE pr.vendor_id = ?
+            """;
+
+    private static final String BY_VENDOR_AND_STATUS = """
+            SELECT po.* FROM purchase_orders po
+            JOIN purchase_requisitions pr ON po.pr_id = pr.id
+            WHERE pr.vendor_id = ? AND po.status = ?
+            ORDER BY po.id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long vendorId;
+    private long prId;
+
+    // Enough rows that a full scan is never the cheaper plan
+    @BeforeEach
+    void severalVendorsWithManyPos() {
+        TestRows rows = new TestRows(jdbcTemplate);
+        for (int v = 0; v < 5; v++) {
+            vendorId = rows.vendor();
+            for (int p = 0; p < 60; p++) {
+                prId = rows.pr(vendorId, PrStatus.APPROVED);
+                rows.po(prId, 10);
+            }
+        }
+        jdbcTemplate.execute("ANALYZE TABLE purchase_orders, purchase_requisitions");
+    }
+
+    @Test
+    void posOfAPrAreFoundThroughThePrIdIndex() {
+        List<Map<String, Object>> plan = explain(BY_PR, prId);
+
+        assertThat(plan).singleElement().satisfies(row -> {
+            assertThat(row.get("key")).isEqualTo("idx_po_pr_id");
+            assertThat(row.get("type")).isEqualTo("ref");
+        });
+    }
+
+    // The vendor's PRs through a vendor_id index, then their POs through idx_po_pr_id
+    @Test
+    void posOfAVendorAreFoundThroughIndexesOnBothTables() {
+        List<Map<String, Object>> plan = explain(BY_VENDOR, vendorId);
+
+        assertThat(keyOf(plan, "pr")).isIn("idx_pr_vendor_status", "idx_pr_vendor_created", "vendor_id");
+        assertThat(keyOf(plan, "po")).isEqualTo("idx_po_pr_id");
+    }
+
+    // The optimizer may pick either table first, but neither is scanned in full
+    @Test
+    void posOfAVendorByStatusAvoidFullScans() {
+        List<Map<String, Object>> plan = explain(BY_VENDOR_AND_STATUS, vendorId, "CREATED");
+
+        assertThat(plan).hasSize(2).allSatisfy(row -> {
+            assertThat(row.get("type")).as("access type of %s", row.get("table")).isNotEqualTo("ALL");
+            assertThat(row.get("key")).as("index of %s", row.get("table")).isNotNull();
+        });
+    }
+
+    @Test
+    void lookupIndexesExist() {
+        assertThat(columnsOf("purchase_orders", "idx_po_pr_id")).containsExactly("pr_id");
+        assertThat(columnsOf("purchase_orders", "idx_po_status")).containsExactly("status");
+        assertThat(columnsOf("purchase_requisitions", "idx_pr_vendor_status")).containsExactly("vendor_id", "status");
+    }
+
+    private List<Map<String, Object>> explain(String sql, Object... args) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+    }
+
+    private static Object keyOf(List<Map<String, Object>> plan, String table) {
+        return plan.stream()
+                .filter(row -> table.equals(row.get("table")))
+                .findFirst()
+                .orElseThrow()
+                .get("key");
+    }
+
+    private List<String> columnsOf(String table, String index) {
+        return jdbcTemplate.queryForList("""
+                SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?
+                ORDER BY SEQ_IN_INDEX
+                """, String.class, table, index);
+    }
+}
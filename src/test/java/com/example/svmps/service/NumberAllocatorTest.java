@@ -0,0 +1,95 @@
+package com.example.svmps.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.svmps.MySqlIntegrationTest;
+
+class NumberAllocatorTest extends MySqlIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Two allocators stand in for two app nodes sharing one database
+    @Test
+    void nodesSharingOneDatabaseNeverHandOutTheSameValue() throws Exception {
+        NumberAllocator nodeA = allocator(7);
+        NumberAllocator nodeB = allocator(11);
+        String sequence = "TEST-" + System.nanoTime();
+
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                NumberAllocator allocator = t % 2 == 0 ? nodeA : nodeB;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        assertThat(values.add(allocator.nextValue(sequence))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(values).hasSize(THREADS * PER_THREAD);
+        assertThat(values).allMatch(value -> value >= 1);
+    }
+
+    @Test
+    void formatsPrefixYearAndValue() {
+        String number = allocator(50).next("TST");
+
+        assertThat(number).matches("TST-\\d{4}-\\d{6}");
+    }
+
+    // The bulk call first drains the current block, then reserves the rest at once
+    @Test
+    void bulkNumbersAreDistinctAndIncreasing() {
+        NumberAllocator allocator = allocator(5);
+        String prefix = "B" + (System.nanoTime() % 100_000);
+        String first = allocator.next(prefix);
+
+        List<String> numbers = allocator.next(prefix, 23);
+        String after = allocator.next(prefix);
+
+        assertThat(numbers).hasSize(23).doesNotHaveDuplicates().isSorted();
+        assertThat(numbers.get(0)).isGreaterThan(first);
+        assertThat(after).isGreaterThan(numbers.get(22));
+    }
+
+    // Small blocks force many concurrent reservations
+    private NumberAllocator allocator(int blockSize) {
+        NumberAllocator allocator = new NumberAllocator(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        return allocator;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.svmps.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.svmps.MySqlIntegrationTest;
+import com.example.svmps.TestRows;
+import com.example.svmps.util.PrStatus;
+
+class PoDeliveryConcurrencyTest extends MySqlIntegrationTest {
+
+    private static final int TOTAL_QUANTITY = 100;
+    private static final int THREADS = 16;
+    private static final int DELIVERIES_PER_THREAD = 10;
+
+    @Autowired
+    private PurchaseOrderService poService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 160 deliveries of 1-7 units compete for 100 units
+    @Test
+    void concurrentDeliveriesNeverExceedTheOrderedQuantity() throws Exception {
+        TestRows rows = new TestRows(jdbcTemplate);
+        long poId = rows.po(rows.pr(rows.vendor(), PrStatus.APPROVED), TOTAL_QUANTITY);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < DELIVERIES_PER_THREAD; i++) {
+                        int quantity = 1 + (thread + i) % 7;
+                        try {
+                            poService.updateDelivery(poId, quantity);
+                            accepted.addAndGet(quantity);
+                        } catch (RuntimeException e) {
+                            assertThat(e).hasMessage("Delivered quantity exceeds ordered quantity");
+                            rejected.incrementAndGet();
+                        }
+                        assertThat(delivered(poId)).isLessThanOrEqualTo(TOTAL_QUANTITY);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new AssertionError(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Every accepted unit was recorded once, and nothing beyond the order
+        assertThat(delivered(poId)).isEqualTo(accepted.get());
+        assertThat(accepted.get()).isLessThanOrEqualTo(TOTAL_QUANTITY);
+        assertThat(rejected.get()).isPositive();
+    }
+
+    @Test
+    void lastUnitsMarkThePoDelivered() {
+        TestRows rows = new TestRows(jdbcTemplate);
+        long poId = rows.po(rows.pr(rows.vendor(), PrStatus.APPROVED), 10);
+
+        poService.updateDelivery(poId, 4);
+        assertThat(status(poId)).isEqualTo("PARTIAL_DELIVERED");
+
+        poService.updateDelivery(poId, 6);
+        assertThat(status(poId)).isEqualTo("DELIVERED");
+        assertThat(delivered(poId)).isEqualTo(10);
+    }
+
+    private int delivered(long poId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT delivered_quantity FROM purchase_orders WHERE id = ?", Integer.class, poId);
+    }
+
+    private String status(long poId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM purchase_orders WHERE id = ?", String.class, poId);
+    }
+}
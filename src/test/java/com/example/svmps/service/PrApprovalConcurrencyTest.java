@@ -0,0 +1,168 @@
+package com.example.svmps.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.svmps.MySqlIntegrationTest;
+import com.example.svmps.TestRows;
+import com.example.svmps.dto.PrBulkDecisionRequest;
+import com.example.svmps.dto.PrDecisionResult;
+import com.example.svmps.util.PrStatus;
+
+class PrApprovalConcurrencyTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private PurchaseRequisitionService prService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestRows rows;
+    private long prId;
+    private long approverA;
+    private long approverB;
+
+    @BeforeEach
+    void submittedPr() {
+        rows = new TestRows(jdbcTemplate);
+        prId = rows.pr(rows.vendor(), PrStatus.SUBMITTED);
+        approverA = rows.user();
+        approverB = rows.user();
+    }
+
+    @Test
+    void twoConcurrentApprovalsHaveExactlyOneWinner() throws Exception {
+        List<Outcome> outcomes = race(
+                () -> prService.approvePr(prId, "first", approverA),
+                () -> prService.approvePr(prId, "second", approverB));
+
+        assertThat(outcomes).filteredOn(Outcome::won).hasSize(1);
+        assertThat(outcomes).filteredOn(o -> !o.won())
+                .singleElement()
+                .extracting(Outcome::error)
+                .isEqualTo("Only SUBMITTED can approve");
+
+        assertThat(status()).isEqualTo(PrStatus.APPROVED);
+        assertThat(historyRows()).isEqualTo(1);
+    }
+
+    @Test
+    void approvalRacingRejectionHasExactlyOneWinner() throws Exception {
+        List<Outcome> outcomes = race(
+                () -> prService.approvePr(prId, "ok", approverA),
+                () -> prService.rejectPr(prId, "no", approverB));
+
+        assertThat(outcomes).filteredOn(Outcome::won).hasSize(1);
+        assertThat(status()).isIn(PrStatus.APPROVED, PrStatus.REJECTED);
+        assertThat(historyRows()).isEqualTo(1);
+    }
+
+    // Each PR of the bulk call races a single approval: every PR ends with one
+    // decision, and the bulk call reports as decided only the PRs it moved
+    @Test
+    void bulkDecisionRacingSingleApprovalsDecidesEachPrOnce() throws Exception {
+        List<Long> prIds = new ArrayList<>();
+        long vendorId = rows.vendor();
+        for (int i = 0; i < 20; i++) {
+            prIds.add(rows.pr(vendorId, PrStatus.SUBMITTED));
+        }
+
+        List<PrDecisionResult> bulk = new ArrayList<>();
+        List<Outcome> outcomes = race(
+                () -> bulk.addAll(prService.decideAll(bulkApproval(prIds, approverA), false)),
+                () -> {
+                    for (Long id : prIds) {
+                        try {
+                            prService.approvePr(id, "single", approverB);
+                        } catch (RuntimeException e) {
+                            // Already approved by the bulk call
+                        }
+                    }
+                    return null;
+                });
+
+        assertThat(outcomes).allMatch(Outcome::won);
+        for (Long id : prIds) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM approval_history WHERE pr_id = ?", Integer.class, id)).isEqualTo(1);
+        }
+        List<Long> bulkWinners = bulk.stream().filter(PrDecisionResult::isSuccess).map(PrDecisionResult::getPrId).toList();
+        assertThat(bulk).filteredOn(r -> !r.isSuccess()).allSatisfy(r -> assertThat(r.getError())
+                .isIn("PR was decided by another request", "Only SUBMITTED can approve"));
+        for (Long id : prIds) {
+            Long approver = jdbcTemplate.queryForObject(
+                    "SELECT approver_id FROM approval_history WHERE pr_id = ?", Long.class, id);
+            assertThat(approver).isEqualTo(bulkWinners.contains(id) ? approverA : approverB);
+        }
+    }
+
+    // Releases both calls at once and reports how each ended
+    private List<Outcome> race(Callable<?> first, Callable<?> second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<?> call : List.of(first, second)) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    outcomes.add(new Outcome(true, null));
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome(false, e.getCause().getMessage()));
+                }
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static PrBulkDecisionRequest bulkApproval(List<Long> prIds, long approverId) {
+        List<PrBulkDecisionRequest.Decision> decisions = new ArrayList<>();
+        for (Long id : prIds) {
+            PrBulkDecisionRequest.Decision decision = new PrBulkDecisionRequest.Decision();
+            decision.setId(id);
+            decision.setAction("APPROVE");
+            decision.setComments("bulk");
+            decisions.add(decision);
+        }
+        PrBulkDecisionRequest request = new PrBulkDecisionRequest();
+        request.setApproverId(approverId);
+        request.setDecisions(decisions);
+        return request;
+    }
+
+    private String status() {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM purchase_requisitions WHERE id = ?", String.class, prId);
+    }
+
+    private int historyRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM approval_history WHERE pr_id = ?", Integer.class, prId);
+    }
+
+    private record Outcome(boolean won, String error) {
+    }
+}
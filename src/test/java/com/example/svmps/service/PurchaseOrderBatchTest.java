@@ -0,0 +1,200 @@
+package com.example.svmps.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.svmps.MySqlIntegrationTest;
+import com.example.svmps.TestRows;
+import com.example.svmps.dto.PoBatchRequest;
+import com.example.svmps.dto.PoBatchResult;
+import com.example.svmps.entity.Role;
+import com.example.svmps.security.JwtUtil;
+import com.example.svmps.util.PrStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@AutoConfigureMockMvc
+class PurchaseOrderBatchTest extends MySqlIntegrationTest {
+
+    private static final long MISSING_PR = Long.MAX_VALUE;
+
+    @Autowired
+    private PurchaseOrderService poService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestRows rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+    }
+
+    @Test
+    void resultsFollowTheRequestOrder() {
+        long vendorId = rows.vendor();
+        long first = approvedPrWithLines(vendorId, 2);
+        long pending = rows.pr(vendorId, PrStatus.PENDING);
+        long second = approvedPrWithLines(vendorId, 3);
+
+        List<PoBatchResult> results = poService.createPos(request(List.of(first, MISSING_PR, pending, first, second)));
+
+        assertThat(results).extracting(PoBatchResult::getPrId)
+                .containsExactly(first, MISSING_PR, pending, first, second);
+        assertThat(results).extracting(PoBatchResult::isSuccess)
+                .containsExactly(true, false, false, false, true);
+        assertThat(results).extracting(PoBatchResult::getError)
+                .containsExactly(null, "PR not found", "PR is not APPROVED", "Duplicate PR in request", null);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM purchase_orders WHERE pr_id = ?", Long.class, pending)).isZero();
+    }
+
+    @Test
+    void eachPoBelongsToItsPrAndCopiesItsLines() {
+        long vendorId = rows.vendor();
+        List<Long> prIds = List.of(
+                approvedPrWithLines(vendorId, 1),
+                approvedPrWithLines(vendorId, 2),
+                approvedPrWithLines(vendorId, 3));
+
+        List<PoBatchResult> results = poService.createPos(request(prIds));
+
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.isSuccess()).isTrue();
+            assertPoMatchesPr(result);
+        });
+        assertThat(results).extracting(PoBatchResult::getPoId).doesNotHaveDuplicates();
+        assertThat(results).extracting(PoBatchResult::getPoNumber).doesNotHaveDuplicates();
+    }
+
+    // One PR read, one number reservation, one bulk insert and one line copy,
+    // however many PRs the batch has
+    @Test
+    void thousandPrsAreOrderedWellUnderASecond() {
+        long vendorId = rows.vendor();
+        // A first batch of the same size warms up the JIT and the connection pool
+        poService.createPos(request(approvedPrs(vendorId, 1000)));
+        List<Long> prIds = approvedPrs(vendorId, 1000);
+
+        long start = System.nanoTime();
+        List<PoBatchResult> results = poService.createPos(request(prIds));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(results).hasSize(1000).allSatisfy(result -> assertThat(result.isSuccess()).isTrue());
+        assertThat(elapsedMs).isLessThan(1000);
+        assertPoMatchesPr(results.get(0));
+        assertPoMatchesPr(results.get(999));
+    }
+
+    @Test
+    void batchEndpointReturnsOneResultPerPr() throws Exception {
+        long vendorId = rows.vendor();
+        long approved = approvedPrWithLines(vendorId, 2);
+        long pending = rows.pr(vendorId, PrStatus.PENDING);
+
+        mockMvc.perform(post("/api/po/batch")
+                        .header("Authorization", "Bearer " + token("PROCUREMENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(List.of(approved, pending, MISSING_PR)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].prId").value(approved))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].poNumber").isNotEmpty())
+                .andExpect(jsonPath("$[1].prId").value(pending))
+                .andExpect(jsonPath("$[1].error").value("PR is not APPROVED"))
+                .andExpect(jsonPath("$[2].error").value("PR not found"));
+    }
+
+    @Test
+    void batchEndpointRejectsMoreThanAThousandPrs() throws Exception {
+        List<Long> prIds = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        mockMvc.perform(post("/api/po/batch")
+                        .header("Authorization", "Bearer " + token("PROCUREMENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(prIds))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batchEndpointIsClosedToVendors() throws Exception {
+        long approved = approvedPrWithLines(rows.vendor(), 1);
+
+        mockMvc.perform(post("/api/po/batch")
+                        .header("Authorization", "Bearer " + token("VENDOR"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(List.of(approved)))))
+                .andExpect(status().isForbidden());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM purchase_orders WHERE pr_id = ?", Long.class, approved)).isZero();
+    }
+
+    private void assertPoMatchesPr(PoBatchResult result) {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT pr_id FROM purchase_orders WHERE id = ?", Long.class, result.getPoId()))
+                .isEqualTo(result.getPrId());
+        assertThat(lines("po_line_items", "po_id", result.getPoId()))
+                .isNotEmpty()
+                .isEqualTo(lines("pr_line_items", "pr_id", result.getPrId()));
+    }
+
+    private List<Map<String, Object>> lines(String table, String column, long id) {
+        return jdbcTemplate.queryForList(
+                "SELECT line_no, item_name, quantity FROM " + table + " WHERE " + column + " = ? ORDER BY line_no", id);
+    }
+
+    private List<Long> approvedPrs(long vendorId, int count) {
+        List<Long> prIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            prIds.add(approvedPrWithLines(vendorId, 2));
+        }
+        return prIds;
+    }
+
+    private long approvedPrWithLines(long vendorId, int lineCount) {
+        long prId = rows.pr(vendorId, PrStatus.APPROVED);
+        for (int line = 1; line <= lineCount; line++) {
+            rows.prLine(prId, line, "Item " + prId + "-" + line, line * 5);
+        }
+        return prId;
+    }
+
+    private String token(String role) {
+        return jwtUtil.generateToken("batch-test", List.of(new Role(role)));
+    }
+
+    private static PoBatchRequest request(List<Long> prIds) {
+        PoBatchRequest request = new PoBatchRequest();
+        request.setPrIds(prIds);
+        request.setCgstPercent(new BigDecimal("9"));
+        request.setSgstPercent(new BigDecimal("9"));
+        request.setIgstPercent(BigDecimal.ZERO);
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.svmps.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.svmps.MySqlIntegrationTest;
+import com.example.svmps.QueryCounter;
+import com.example.svmps.TestRows;
+import com.example.svmps.dto.PurchaseOrderDto;
+import com.example.svmps.util.PrStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class PurchaseOrderQueryCountTest extends MySqlIntegrationTest {
+
+    // Matches PurchaseOrderService.VENDOR_LOOKUP_CHUNK
+    private static final int VENDOR_LOOKUP_CHUNK = 1000;
+
+    // Enough POs, each on its own PR, for the vendor lookup to need a second chunk
+    private static final int MANY_POS = 1100;
+
+    @Autowired
+    private PurchaseOrderService poService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestRows rows;
+    private QueryCounter queries;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+        queries = new QueryCounter(entityManagerFactory);
+    }
+
+    // One query for the POs, one batched vendor lookup for all their PRs
+    @Test
+    void listingByVendorUsesTwoQueriesWhateverTheSize() {
+        long small = vendorWithPos(1);
+        long large = vendorWithPos(25);
+
+        assertThat(queries.count(() -> poService.getPosByVendorId(small))).isEqualTo(2);
+        assertThat(queries.count(() -> poService.getPosByVendorId(large))).isEqualTo(2);
+    }
+
+    @Test
+    void listingByPrUsesTwoQueries() {
+        long prId = rows.pr(rows.vendor(), PrStatus.APPROVED);
+        rows.po(prId, 5);
+        rows.po(prId, 7);
+
+        assertThat(queries.count(() -> poService.getPosByPrId(prId))).isEqualTo(2);
+    }
+
+    @Test
+    void listedPosCarryTheirVendor() {
+        long vendorId = vendorWithPos(3);
+        String name = jdbcTemplate.queryForObject("SELECT name FROM vendors WHERE id = ?", String.class, vendorId);
+
+        List<PurchaseOrderDto> pos = poService.getPosByVendorId(vendorId);
+
+        assertThat(pos).hasSize(3).allSatisfy(po -> {
+            assertThat(po.getVendorName()).isEqualTo(name);
+            assertThat(po.getVendorIsActive()).isTrue();
+        });
+    }
+
+    // The database is shared with other tests, so the expected count is worked
+    // out from what is there: one query for the POs plus one vendor lookup per
+    // 1000 PRs, however many POs those PRs have
+    @Test
+    void listingAllPosCostsOneLookupPerChunkOfPrs() {
+        long vendorId = vendorWithPos(MANY_POS);
+        String name = jdbcTemplate.queryForObject("SELECT name FROM vendors WHERE id = ?", String.class, vendorId);
+        long prs = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT pr_id) FROM purchase_orders", Long.class);
+
+        List<PurchaseOrderDto> pos = new ArrayList<>();
+        long count = queries.count(() -> pos.addAll(poService.getAllPos()));
+
+        assertThat(prs).isGreaterThan(VENDOR_LOOKUP_CHUNK);
+        assertThat(count).isEqualTo(1 + chunks(prs));
+        assertThat(pos).filteredOn(po -> name.equals(po.getVendorName())).hasSize(MANY_POS);
+    }
+
+    // A full first page also runs the total count query
+    @Test
+    void pageOfPosCostsOneLookupPerChunkOfPrs() {
+        vendorWithPos(MANY_POS);
+        int pageSize = MANY_POS - 50;
+
+        List<Page<PurchaseOrderDto>> page = new ArrayList<>();
+        long count = queries.count(() -> page.add(poService.getAllPosWithPagination(PageRequest.of(0, pageSize))));
+
+        List<PurchaseOrderDto> content = page.get(0).getContent();
+        long prs = content.stream().map(PurchaseOrderDto::getPrId).filter(Objects::nonNull).distinct().count();
+        assertThat(content).hasSize(pageSize).allSatisfy(po -> assertThat(po.getVendorName()).isNotNull());
+        assertThat(prs).isGreaterThan(VENDOR_LOOKUP_CHUNK);
+        assertThat(count).isEqualTo(2 + chunks(prs));
+    }
+
+    private static long chunks(long prs) {
+        return (prs + VENDOR_LOOKUP_CHUNK - 1) / VENDOR_LOOKUP_CHUNK;
+    }
+
+    private long vendorWithPos(int count) {
+        long vendorId = rows.vendor();
+        for (int i = 0; i < count; i++) {
+            rows.po(rows.pr(vendorId, PrStatus.APPROVED), 10);
+        }
+        return vendorId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.svmps.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.svmps.MySqlIntegrationTest;
+import com.example.svmps.QueryCounter;
+import com.example.svmps.TestRows;
+import com.example.svmps.util.PrStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class TabularReportQueryCountTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private TabularReportService tabularReportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queries;
+
+    @BeforeEach
+    void someOfEverything() {
+        TestRows rows = new TestRows(jdbcTemplate);
+        for (int i = 0; i < 10; i++) {
+            long vendorId = rows.vendor();
+            jdbcTemplate.update("UPDATE vendors SET user_id = ? WHERE id = ?", rows.user(), vendorId);
+            rows.po(rows.pr(vendorId, PrStatus.APPROVED), 10);
+        }
+        queries = new QueryCounter(entityManagerFactory);
+    }
+
+    // Each list report is one projection query, however many rows it has
+    @Test
+    void listReportRowsTakeOneQueryEach() {
+        for (String report : List.of("pr", "po", "vendor")) {
+            List<?>[] loaded = new List<?>[1];
+
+            long count = queries.count(() -> loaded[0] = tabularReportService.loadRows(report));
+
+            assertThat(count).as(report).isEqualTo(1);
+            assertThat(loaded[0]).as(report).hasSizeGreaterThanOrEqualTo(10);
+        }
+    }
+
+    // PRs: one query; vendors: one on vendors.updated_at and one on users.updated_at
+    @Test
+    void changedRowsTakeAFixedNumberOfQueries() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        LocalDateTime until = LocalDateTime.now().plusDays(1);
+
+        assertThat(queries.count(() -> tabularReportService.loadRowsChangedBetween("pr", since, until)))
+                .isEqualTo(1);
+        assertThat(queries.count(() -> tabularReportService.loadRowsChangedBetween("vendor", since, until)))
+                .isEqualTo(2);
+    }
+}
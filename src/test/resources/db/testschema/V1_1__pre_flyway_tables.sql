@@ -0,0 +1,40 @@
+-- Test databases only (see MySqlIntegrationTest).
+-- Production databases were created by Hibernate before Flyway was
+-- introduced and then baselined, so V1 never ran there. These are the
+-- tables and columns Hibernate created that no migration creates; an
+-- empty database needs them before V2 onwards can run.
+
+-- Mapped by the entity, never written by the application
+ALTER TABLE purchase_requisitions MODIFY requester_id BIGINT NULL;
+ALTER TABLE purchase_requisitions ADD COLUMN requester_email VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS email_logs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  recipient VARCHAR(255),
+  subject VARCHAR(255),
+  body TEXT,
+  status VARCHAR(255),
+  retry_count INT NOT NULL,
+  last_attempt DATETIME(6),
+  error_message TEXT
+);
+
+-- document_id is added by V14
+CREATE TABLE IF NOT EXISTS role_selection_requests (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  user_id BIGINT NOT NULL,
+  requested_role VARCHAR(255) NOT NULL,
+  full_name VARCHAR(255) NOT NULL,
+  email VARCHAR(255) NOT NULL,
+  phone_number VARCHAR(255) NOT NULL,
+  location VARCHAR(255),
+  category VARCHAR(255),
+  gst_number VARCHAR(255),
+  address VARCHAR(255),
+  rating DOUBLE,
+  additional_details TEXT,
+  status VARCHAR(255) NOT NULL,
+  created_at DATETIME(6),
+  updated_at DATETIME(6),
+  FOREIGN KEY (user_id) REFERENCES users(id)
+);